@@ -1,5 +1,8 @@
 package ru.practicum.gateway.booking;
 
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,34 +10,35 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.gateway.booking.dto.BookingDto;
 import ru.practicum.gateway.booking.dto.BookingState;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.DownstreamLimiter;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         RestTemplateBuilder builder,
+                         HttpComponentsClientHttpRequestFactory shareItServerRequestFactory,
+                         JdkClientHttpRequestFactory shareItServerStreamRequestFactory,
+                         DownstreamLimiter limiter) {
+        super(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), shareItServerStreamRequestFactory, limiter);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        return getPage("", userId, state, from, size, cursor);
     }
 
 
@@ -42,6 +46,10 @@ public class BookingClient extends BaseClient {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> createBookings(long userId, List<BookingDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
@@ -51,7 +59,34 @@ public class BookingClient extends BaseClient {
         return patch(path, userId);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(long userId) {
-        return get("?state={state}", userId);
+    public ResponseEntity<Object> getOwnerBookings(long userId, BookingState state, Integer from, Integer size,
+                                                   String cursor) {
+        return getPage("/owner", userId, state, from, size, cursor);
+    }
+
+    public ResponseEntity<Object> getSummary(long userId) {
+        return get("/summary", userId);
+    }
+
+    public ResponseEntity<Object> getOwnerSummary(long userId) {
+        return get("/owner/summary", userId);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamOwnerBookings(long userId) throws IOException {
+        return stream("/owner/stream", userId);
+    }
+
+    private ResponseEntity<Object> getPage(String path, long userId, BookingState state, Integer from, Integer size,
+                                           String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String query = "?state={state}&from={from}&size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return get(path + query, userId, parameters);
     }
 }
\ No newline at end of file
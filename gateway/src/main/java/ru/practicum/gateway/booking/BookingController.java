@@ -1,5 +1,9 @@
 package ru.practicum.gateway.booking;
 
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -11,8 +15,10 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
@@ -34,11 +40,13 @@ public class BookingController {
     public ResponseEntity<Object> getBookings(@RequestHeader(GlobalConstants.USERID_HEADER) long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size,
+                cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
@@ -48,6 +56,13 @@ public class BookingController {
         return bookingClient.createBooking(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createBookings(@RequestHeader(GlobalConstants.USERID_HEADER) long userId,
+                                                 @RequestBody @NotEmpty List<@Valid BookingDto> requestDtos) {
+        log.info("Creating {} bookings in batch, userId={}", requestDtos.size(), userId);
+        return bookingClient.createBookings(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader(GlobalConstants.USERID_HEADER) long userId,
                                              @PathVariable Long bookingId) {
@@ -65,9 +80,34 @@ public class BookingController {
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(@Positive @RequestHeader(GlobalConstants.USERID_HEADER) long userId,
                                                    @RequestParam(name = "state",
-                                                           defaultValue = "all") String stateParam) {
+                                                           defaultValue = "all") String stateParam,
+                                                   @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                   @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                   @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getOwnerBookings(userId);
+        log.info("Get owner bookings with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from,
+                size, cursor);
+        return bookingClient.getOwnerBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<Object> getSummary(@Positive @RequestHeader(GlobalConstants.USERID_HEADER) long userId) {
+        log.info("Get booking summary, userId={}", userId);
+        return bookingClient.getSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public ResponseEntity<Object> getOwnerSummary(
+            @Positive @RequestHeader(GlobalConstants.USERID_HEADER) long userId) {
+        log.info("Get owner booking summary, userId={}", userId);
+        return bookingClient.getOwnerSummary(userId);
+    }
+
+    @GetMapping(value = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOwnerBookings(
+            @Positive @RequestHeader(GlobalConstants.USERID_HEADER) long userId) throws IOException {
+        log.info("Open owner booking stream, userId={}", userId);
+        return bookingClient.streamOwnerBookings(userId);
     }
-}
\ No newline at end of file
+}
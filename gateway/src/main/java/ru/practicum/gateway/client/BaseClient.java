@@ -1,22 +1,35 @@
 package ru.practicum.gateway.client;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final ClientHttpRequestFactory streamRequestFactory;
+    private final DownstreamLimiter limiter;
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, ClientHttpRequestFactory streamRequestFactory, DownstreamLimiter limiter) {
         this.rest = rest;
+        this.streamRequestFactory = streamRequestFactory;
+        this.limiter = limiter;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -79,9 +92,78 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Relays a long-lived {@code text/event-stream} response chunk by chunk instead of buffering it.
+     * Error responses of the server are passed through like in {@link #get(String, long)}. Streams are sent through
+     * their own request factory, so an open stream never holds a connection that plain calls are waiting for.
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId) throws IOException {
+        return stream(path, userId, MediaType.TEXT_EVENT_STREAM, Map.of());
+    }
+
+    /**
+     * Relays a streamed response of the given media type chunk by chunk instead of buffering it.
+     */
+    protected ResponseEntity<StreamingResponseBody> stream(String path, long userId, MediaType mediaType,
+                                                           Map<String, ?> parameters) throws IOException {
+        return stream(HttpMethod.GET, path, userId, mediaType, parameters, null);
+    }
+
+    /**
+     * Sends {@code body} to the server as a request of the given media type and relays the streamed response.
+     * The body is copied straight into the outgoing request rather than read into memory first.
+     */
+    protected ResponseEntity<StreamingResponseBody> streamPost(String path, long userId, MediaType mediaType,
+                                                               InputStream body) throws IOException {
+        return stream(HttpMethod.POST, path, userId, mediaType, Map.of(), body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(HttpMethod method, String path, long userId,
+                                                         MediaType mediaType, Map<String, ?> parameters,
+                                                         @Nullable InputStream body) throws IOException {
+        URI uri = rest.getUriTemplateHandler().expand(path, parameters);
+        ClientHttpRequest request = streamRequestFactory.createRequest(uri, method);
+        request.getHeaders().setAccept(List.of(mediaType));
+        request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+        if (body != null) {
+            request.getHeaders().setContentType(mediaType);
+            if (request instanceof StreamingHttpOutputMessage streaming) {
+                streaming.setBody(body::transferTo);
+            } else {
+                body.transferTo(request.getBody());
+            }
+        }
+
+        ClientHttpResponse response = request.execute();
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            try (response) {
+                byte[] error = response.getBody().readAllBytes();
+                return ResponseEntity.status(response.getStatusCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(out -> out.write(error));
+            }
+        }
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .body(out -> {
+                    try (response; InputStream in = response.getBody()) {
+                        byte[] buffer = new byte[8192];
+                        int read;
+                        while ((read = in.read(buffer)) != -1) {
+                            out.write(buffer, 0, read);
+                            out.flush();
+                        }
+                    }
+                });
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
+        if (!limiter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Service Unavailable", "message", "Too many concurrent requests, please retry"));
+        }
         ResponseEntity<Object> shareitServerResponse;
         try {
             if (parameters != null) {
@@ -91,6 +173,8 @@ public class BaseClient {
             }
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        } finally {
+            limiter.release();
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
@@ -0,0 +1,53 @@
+package ru.practicum.gateway.client;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps the number of calls to the ShareIt server that are in flight at once.
+ * <p>
+ * With request handling on virtual threads the gateway no longer runs out of threads, so this permit count
+ * ({@code shareit-server.max-concurrent-requests}) is what protects the server instead. A call that cannot get a
+ * permit within {@code shareit-server.acquire-timeout} is answered with 503 by {@link BaseClient}.
+ */
+@Component
+public class DownstreamLimiter {
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutMillis;
+
+    @Autowired
+    public DownstreamLimiter(@Value("${shareit-server.max-concurrent-requests:1000}") int maxConcurrentRequests,
+                             @Value("${shareit-server.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+}
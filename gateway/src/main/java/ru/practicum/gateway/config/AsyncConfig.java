@@ -0,0 +1,25 @@
+package ru.practicum.gateway.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Streamed responses (the owner booking stream) each occupy a task for as long as the client listens,
+ * so they run on virtual threads instead of a bounded platform pool.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(31);
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor()));
+        configurer.setDefaultTimeout(STREAM_TIMEOUT.toMillis());
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.gateway.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import ru.practicum.gateway.client.DownstreamLimiter;
+
+/**
+ * HTTP clients shared by all clients of the ShareIt server.
+ * <p>
+ * The default factory of every client used to create its own pool of five connections per route, which capped the
+ * gateway far below its thread count. Plain calls now share one pool sized to {@link DownstreamLimiter}, so that a
+ * call holding a permit also finds a free connection. Streamed responses (the owner booking stream, NDJSON search,
+ * import and export) can stay open for minutes, so they are relayed through a separate JDK client on virtual threads
+ * that opens a connection per stream and never takes one from that pool.
+ */
+@Configuration
+public class ServerClientConfig {
+
+    @Bean
+    public HttpClient shareItServerStreamClient(@Value("${shareit-server.connect-timeout:PT5S}") Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    @Bean
+    public JdkClientHttpRequestFactory shareItServerStreamRequestFactory(HttpClient shareItServerStreamClient) {
+        return new JdkClientHttpRequestFactory(shareItServerStreamClient);
+    }
+
+    @Bean
+    public HttpComponentsClientHttpRequestFactory shareItServerRequestFactory(
+            DownstreamLimiter limiter,
+            @Value("${shareit-server.connect-timeout:PT5S}") Duration connectTimeout,
+            @Value("${shareit-server.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(limiter.getMaxConcurrentRequests())
+                .setMaxConnPerRoute(limiter.getMaxConcurrentRequests())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .build())
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(acquireTimeout))
+                        .build())
+                .build());
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.gateway.export;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.DownstreamLimiter;
+
+import java.io.IOException;
+import java.util.Map;
+
+@Service
+public class ExportClient extends BaseClient {
+    private static final String API_PREFIX = "/export";
+
+    @Autowired
+    public ExportClient(@Value("${shareit-server.url}") String url,
+                        RestTemplateBuilder builder,
+                        HttpComponentsClientHttpRequestFactory shareItServerRequestFactory,
+                        JdkClientHttpRequestFactory shareItServerStreamRequestFactory,
+                        DownstreamLimiter limiter) {
+        super(builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), shareItServerStreamRequestFactory, limiter);
+    }
+
+    public ResponseEntity<StreamingResponseBody> export(Long userId, String entity, String format)
+            throws IOException {
+        MediaType mediaType = "csv".equals(format) ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON;
+        return stream("/{entity}?format={format}", userId, mediaType, Map.of("entity", entity, "format", format));
+    }
+}
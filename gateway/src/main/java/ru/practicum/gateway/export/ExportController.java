@@ -0,0 +1,35 @@
+package ru.practicum.gateway.export;
+
+import jakarta.validation.constraints.Pattern;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.gateway.utils.GlobalConstants;
+
+import java.io.IOException;
+
+@Controller
+@RequestMapping(path = "/export")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class ExportController {
+    private final ExportClient exportClient;
+
+    @GetMapping("/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(
+            @Pattern(regexp = "users|items|bookings") @PathVariable(name = "entity") String entity,
+            @Pattern(regexp = "ndjson|csv") @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @RequestHeader(GlobalConstants.USERID_HEADER) Long userId) throws IOException {
+        log.info("Streaming export of {} as {}, userId={}", entity, format, userId);
+        return exportClient.export(userId, entity, format);
+    }
+}
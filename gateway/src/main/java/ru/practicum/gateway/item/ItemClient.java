@@ -3,14 +3,23 @@ package ru.practicum.gateway.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.DownstreamLimiter;
 import ru.practicum.gateway.item.dto.CommentDto;
 import ru.practicum.gateway.item.dto.ItemDto;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -18,11 +27,15 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String url,
+                      RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory shareItServerRequestFactory,
+                      JdkClientHttpRequestFactory shareItServerStreamRequestFactory,
+                      DownstreamLimiter limiter) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), shareItServerStreamRequestFactory, limiter);
     }
 
     public ResponseEntity<Object> create(Long ownerId, ItemDto itemDto) {
@@ -41,12 +54,46 @@ public class ItemClient extends BaseClient {
         return get("/%d".formatted(itemId), userId);
     }
 
-    public ResponseEntity<Object> search(Long userId, String text) {
-        Map<String, Object> param = Map.of("text", text);
-        return get("/search?text={text}", userId, param);
+    public ResponseEntity<Object> search(Long userId, String text, Integer from, Integer size) {
+        Map<String, Object> param = Map.of("text", text, "from", from, "size", size);
+        return get("/search?text={text}&from={from}&size={size}", userId, param);
+    }
+
+    public ResponseEntity<StreamingResponseBody> streamSearch(Long userId, String text) throws IOException {
+        return stream("/search?text={text}", userId, MediaType.APPLICATION_NDJSON, Map.of("text", text));
+    }
+
+    public ResponseEntity<StreamingResponseBody> importItems(Long userId, InputStream body) throws IOException {
+        return streamPost("/import", userId, MediaType.APPLICATION_NDJSON, body);
+    }
+
+    public ResponseEntity<Object> suggest(Long userId, String prefix, Integer limit) {
+        Map<String, Object> parameters = Map.of("prefix", prefix, "limit", limit);
+        return get("/suggest?prefix={prefix}&limit={limit}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getComments(Long itemId, Long userId, String cursor, Integer size) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("size", size);
+        String query = "?size={size}";
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+            query += "&cursor={cursor}";
+        }
+        return get("/%d/comments".formatted(itemId) + query, userId, parameters);
     }
 
     public ResponseEntity<Object> addComment(Long itemId, Long userId, CommentDto commentDto) {
         return post("/%d/comment".formatted(itemId), userId, commentDto);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getAvailability(Long itemId, Long userId, LocalDateTime from, LocalDateTime to,
+                                                  Duration granularity) {
+        Map<String, Object> parameters = Map.of(
+                "from", from.toString(),
+                "to", to.toString(),
+                "granularity", granularity.toString());
+        return get("/%d/availability?from={from}&to={to}&granularity={granularity}".formatted(itemId), userId,
+                parameters);
+    }
+}
@@ -1,10 +1,16 @@
 package ru.practicum.gateway.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,14 +19,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.gateway.item.dto.CommentDto;
 import ru.practicum.gateway.item.dto.ItemDto;
 import ru.practicum.gateway.utils.GlobalConstants;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
 @Controller
 @RequestMapping(path = "/items")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class ItemController {
     private final ItemClient itemClient;
 
@@ -51,6 +64,20 @@ public class ItemController {
         return item;
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable(value = "itemId") Long itemId,
+                                                  @RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to,
+                                                  @RequestParam(defaultValue = "PT1H") Duration granularity) {
+        log.info("Started getting availability of item id = {} from {} to {} by {}", itemId, from, to, granularity);
+        final ResponseEntity<Object> availability = itemClient.getAvailability(itemId, userId, from, to, granularity);
+        log.info("Finished getting availability of item id = {}", itemId);
+        return availability;
+    }
+
     @GetMapping("/{itemId}")
     public ResponseEntity<Object> getById(@PathVariable(value = "itemId") Long itemId,
                                               @RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
@@ -62,13 +89,52 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> search(@RequestParam(value = "text") String text,
-                                              @RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
-        log.info("Started searching item contained text: {}", text);
-        final ResponseEntity<Object> item = itemClient.search(userId, text);
+                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                         @RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
+        log.info("Started searching item contained text: {}, from={}, size={}", text, from, size);
+        final ResponseEntity<Object> item = itemClient.search(userId, text, from, size);
         log.info("Finished searching item contained text: {}", text);
         return item;
     }
 
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearch(@RequestParam(value = "text") String text,
+                                                              @RequestHeader(GlobalConstants.USERID_HEADER) Long userId)
+            throws IOException {
+        log.info("Streaming items contained text: {}", text);
+        return itemClient.streamSearch(userId, text);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggest(@RequestParam(value = "prefix") String prefix,
+                                          @Positive @Max(10) @RequestParam(name = "limit", defaultValue = "10") Integer limit,
+                                          @RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
+        log.info("Started suggesting item names for prefix: {}, limit={}", prefix, limit);
+        final ResponseEntity<Object> names = itemClient.suggest(userId, prefix, limit);
+        log.info("Finished suggesting item names for prefix: {}", prefix);
+        return names;
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                                             InputStream body) throws IOException {
+        log.info("Forwarding item import for userId={}", userId);
+        return itemClient.importItems(userId, body);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@PathVariable(name = "itemId") Long itemId,
+                                              @RequestParam(name = "cursor", required = false) String cursor,
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
+        log.info("Started getting comments of item id = {}, cursor={}, size={}", itemId, cursor, size);
+        final ResponseEntity<Object> comments = itemClient.getComments(itemId, userId, cursor, size);
+        log.info("Finished getting comments of item id = {}", itemId);
+        return comments;
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> addComment(@Valid @RequestBody CommentDto commentDto,
                                                 @PathVariable(name = "itemId") Long itemId,
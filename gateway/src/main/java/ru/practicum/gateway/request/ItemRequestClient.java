@@ -6,32 +6,50 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.DownstreamLimiter;
 import ru.practicum.gateway.request.dto.ItemRequestDto;
 
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit-server.url}") String url,
+                             RestTemplateBuilder builder,
+                             HttpComponentsClientHttpRequestFactory shareItServerRequestFactory,
+                             JdkClientHttpRequestFactory shareItServerStreamRequestFactory,
+                             DownstreamLimiter limiter) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build());
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), shareItServerStreamRequestFactory, limiter);
     }
 
     public ResponseEntity<Object> create(Long userId, ItemRequestDto itemRequestDto) {
         return post("", userId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getAllByUser(Long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getAllByUser(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> getAll(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of("from", from, "size", size);
+        return get("/all?from={from}&size={size}", userId, parameters);
     }
 
     public ResponseEntity<Object> getById(Long requestId) {
         return get("/%d".formatted(requestId));
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> getSuggestions(Long requestId) {
+        return get("/%d/suggestions".formatted(requestId));
+    }
+}
@@ -1,20 +1,25 @@
 package ru.practicum.gateway.request;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.gateway.request.dto.ItemRequestDto;
 import ru.practicum.gateway.utils.GlobalConstants;
 
 @Controller
+@Validated
 @RequestMapping(path = "/requests")
 @RequiredArgsConstructor
 @Slf4j
@@ -29,9 +34,19 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByUser(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
-        log.info("Started getting all request with item by user with id = {}", userId);
-        return itemRequestClient.getAllByUser(userId);
+    public ResponseEntity<Object> getAllByUser(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                               @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Started getting all request with item by user with id = {}, from={}, size={}", userId, from, size);
+        return itemRequestClient.getAllByUser(userId, from, size);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<Object> getAll(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        log.info("Started getting requests of other users for user with id = {}, from={}, size={}", userId, from, size);
+        return itemRequestClient.getAll(userId, from, size);
     }
 
 
@@ -40,4 +55,10 @@ public class ItemRequestController {
         log.info("Started getting all request with item by id = {}", requestId);
         return itemRequestClient.getById(requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public ResponseEntity<Object> getSuggestions(@PathVariable(name = "requestId") Long requestId) {
+        log.info("Started getting suggested items for request id = {}", requestId);
+        return itemRequestClient.getSuggestions(requestId);
+    }
 }
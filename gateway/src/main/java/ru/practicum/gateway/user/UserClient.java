@@ -6,30 +6,50 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.DownstreamLimiter;
 import ru.practicum.gateway.user.dto.UserDto;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String url, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit-server.url}") String url,
+                      RestTemplateBuilder builder,
+                      HttpComponentsClientHttpRequestFactory shareItServerRequestFactory,
+                      JdkClientHttpRequestFactory shareItServerStreamRequestFactory,
+                      DownstreamLimiter limiter) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(url + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                .build()
-        );
+                .requestFactory(() -> shareItServerRequestFactory)
+                .build(), shareItServerStreamRequestFactory, limiter);
     }
 
     public ResponseEntity<Object> create(UserDto userDto) {
         return post("", userDto);
     }
 
-    public ResponseEntity<Object> findAll() {
-        return get("");
+    public ResponseEntity<Object> findAll(Integer from, Integer size, String email, String name) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("from", from);
+        parameters.put("size", size);
+        String query = "?from={from}&size={size}";
+        if (email != null) {
+            parameters.put("email", email);
+            query += "&email={email}";
+        }
+        if (name != null) {
+            parameters.put("name", name);
+            query += "&name={name}";
+        }
+        return get(query, null, parameters);
     }
 
     public ResponseEntity<Object> get(Long userId) {
@@ -1,10 +1,13 @@
 package ru.practicum.gateway.user;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,12 +15,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.gateway.user.dto.UserDto;
 
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Slf4j
+@Validated
 public class UserController {
     private final UserClient userClient;
 
@@ -28,9 +33,12 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> findAll() {
-        log.info("Started getting all users");
-        return userClient.findAll();
+    public ResponseEntity<Object> findAll(@PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                          @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                          @RequestParam(name = "email", required = false) String email,
+                                          @RequestParam(name = "name", required = false) String name) {
+        log.info("Started getting users, email prefix={}, name prefix={}, from={}, size={}", email, name, from, size);
+        return userClient.findAll(from, size, email, name);
     }
 
     @GetMapping("/{userId}")
@@ -0,0 +1,138 @@
+package client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import ru.practicum.gateway.client.BaseClient;
+import ru.practicum.gateway.client.DownstreamLimiter;
+import ru.practicum.gateway.config.ServerClientConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseClientTest {
+
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+    private static final byte[] OK = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/fast", exchange -> respond(exchange, OK));
+        server.createContext("/slow", exchange -> {
+            slowStarted.countDown();
+            await();
+            respond(exchange, OK);
+        });
+        server.createContext("/stream", this::openStream);
+        server.start();
+
+        ServerClientConfig config = new ServerClientConfig();
+        DownstreamLimiter limiter = new DownstreamLimiter(1, TIMEOUT);
+        RestTemplate rest = new RestTemplate(config.shareItServerRequestFactory(limiter, TIMEOUT, TIMEOUT));
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:" + server.getAddress().getPort()));
+        client = new TestClient(rest, config.shareItServerStreamRequestFactory(
+                config.shareItServerStreamClient(TIMEOUT)), limiter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void get_shouldAnswerServiceUnavailableWhenNoPermitFreesUp() throws Exception {
+        CompletableFuture<ResponseEntity<Object>> slow = CompletableFuture.supplyAsync(() -> client.call("/slow"));
+        assertThat(slowStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        ResponseEntity<Object> rejected = client.call("/fast");
+
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(client.call("/fast").getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void stream_shouldNotHoldPermitOrPooledConnection() throws Exception {
+        ResponseEntity<StreamingResponseBody> stream = client.open("/stream");
+        assertThat(stream.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(client.call("/fast").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(client.call("/fast").getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        release.countDown();
+        stream.getBody().writeTo(OutputStream.nullOutputStream());
+    }
+
+    private void openStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write("data: {}\n\n".getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            await();
+        }
+    }
+
+    private void await() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static final class TestClient extends BaseClient {
+
+        TestClient(RestTemplate rest, ClientHttpRequestFactory streamRequestFactory,
+                   DownstreamLimiter limiter) {
+            super(rest, streamRequestFactory, limiter);
+        }
+
+        ResponseEntity<Object> call(String path) {
+            return super.get(path);
+        }
+
+        ResponseEntity<StreamingResponseBody> open(String path) throws IOException {
+            return super.stream(path, 1L);
+        }
+    }
+}
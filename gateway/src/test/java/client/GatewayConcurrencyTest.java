@@ -0,0 +1,135 @@
+package client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ru.practicum.gateway.ShareItGateway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+class GatewayConcurrencyTest {
+
+    private static final int REQUESTS = 5_000;
+    private static final int WARM_UP_REQUESTS = 1_000;
+    private static final int MAX_CONCURRENT = 1_000;
+    private static final Duration SERVER_DELAY = Duration.ofSeconds(2);
+    private static final byte[] USER = "{\"id\":1,\"name\":\"User\",\"email\":\"user@example.com\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private ExecutorService serverExecutor;
+    private HttpServer server;
+
+    @BeforeEach
+    void startSlowServer() throws IOException {
+        serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/users", this::slowUser);
+        server.start();
+    }
+
+    @AfterEach
+    void stopSlowServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkPlatformAndVirtualThreadsAgainstSlowServer() throws Exception {
+        long platformMillis = run(false);
+        int platformPeak = maxInFlight.get();
+        long virtualMillis = run(true);
+        int virtualPeak = maxInFlight.get();
+
+        log.info("{} requests, server delay {} ms: platform threads {} ms (peak {} in flight), "
+                        + "virtual threads {} ms (peak {} in flight, limit {})",
+                REQUESTS, SERVER_DELAY.toMillis(), platformMillis, platformPeak, virtualMillis, virtualPeak,
+                MAX_CONCURRENT);
+        assertThat(virtualPeak).isLessThanOrEqualTo(MAX_CONCURRENT);
+        assertThat(virtualMillis).isLessThan(platformMillis);
+    }
+
+    private long run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--server.tomcat.accept-count=" + REQUESTS,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                "--shareit-server.max-concurrent-requests=" + MAX_CONCURRENT,
+                "--shareit-server.acquire-timeout=PT60S",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO");
+             ExecutorService clientExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientExecutor)
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1"))
+                    .timeout(Duration.ofMinutes(1))
+                    .build();
+
+            send(client, request, WARM_UP_REQUESTS);
+            maxInFlight.set(0);
+
+            long started = System.nanoTime();
+            send(client, request, REQUESTS);
+            return (System.nanoTime() - started) / 1_000_000;
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request, int count) {
+        List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+        assertThat(responses).allSatisfy(response -> assertThat(response.join().statusCode()).isEqualTo(200));
+    }
+
+    private void slowUser(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(SERVER_DELAY);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            // the JDK server drops idle connections beyond its own small limit, which the gateway pool would reuse
+            exchange.getResponseHeaders().set("Connection", "close");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -3,8 +3,14 @@ package ru.practicum.server.booking.controller;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.server.booking.dto.BookingBatchResultDto;
+import ru.practicum.server.utils.KeysetCursor;
 import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.dto.BookingSummaryDto;
 import ru.practicum.server.booking.service.BookingService;
 
 import ru.practicum.server.utils.GlobalConstants;
@@ -29,6 +35,16 @@ public class BookingController {
         return createdBooking;
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(
+            @RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+            @RequestBody List<BookingDto> bookingDtos) {
+        log.info("Starting batch booking creation for user ID: {} with {} bookings", userId, bookingDtos.size());
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookingDtos, userId);
+        log.info("Batch booking creation finished for user ID: {}", userId);
+        return results;
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approveBooking(
             @RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
@@ -50,20 +66,53 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getUserBookings(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
-                                            @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Fetching bookings for user ID: {} with state: {}", userId, state);
-        List<BookingDto> userBookings = bookingService.getBookingsForCurrentUser(userId, state);
+    public ResponseEntity<List<BookingDto>> getUserBookings(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "0") int from,
+                                                            @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching bookings for user ID: {} with state: {}, cursor: {}, from: {}, size: {}",
+                userId, state, cursor, from, size);
+        List<BookingDto> userBookings = bookingService.getBookingsForCurrentUser(userId, state, cursor, from, size);
         log.info("Fetched {} bookings for user ID: {}", userBookings.size(), userId);
-        return userBookings;
+        return withNextCursor(userBookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnerBookings(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
-                                             @RequestParam(defaultValue = "ALL") String state) {
-        log.info("Fetching owner bookings for user ID: {} with state: {}", userId, state);
-        List<BookingDto> ownerBookings = bookingService.getBookingsForOwner(userId, state);
+    public ResponseEntity<List<BookingDto>> getOwnerBookings(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                                             @RequestParam(defaultValue = "ALL") String state,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "0") int from,
+                                                             @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching owner bookings for user ID: {} with state: {}, cursor: {}, from: {}, size: {}",
+                userId, state, cursor, from, size);
+        List<BookingDto> ownerBookings = bookingService.getBookingsForOwner(userId, state, cursor, from, size);
         log.info("Fetched {} owner bookings for user ID: {}", ownerBookings.size(), userId);
-        return ownerBookings;
+        return withNextCursor(ownerBookings, size);
+    }
+
+    @GetMapping("/summary")
+    public BookingSummaryDto getUserSummary(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
+        log.info("Fetching booking summary for user ID: {}", userId);
+        return bookingService.getBookerSummary(userId);
+    }
+
+    @GetMapping("/owner/summary")
+    public BookingSummaryDto getOwnerSummary(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
+        log.info("Fetching owner booking summary for user ID: {}", userId);
+        return bookingService.getOwnerSummary(userId);
+    }
+
+    @GetMapping(value = "/owner/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOwnerBookings(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
+        log.info("Opening booking change stream for owner ID: {}", userId);
+        return bookingService.streamOwnerBookings(userId);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        KeysetCursor.next(bookings, size, BookingDto::getStart, BookingDto::getId)
+                .ifPresent(next -> response.header(GlobalConstants.NEXT_CURSOR_HEADER, next));
+        return response.body(bookings);
     }
 }
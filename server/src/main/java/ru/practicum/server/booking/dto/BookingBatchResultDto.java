@@ -0,0 +1,34 @@
+package ru.practicum.server.booking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Outcome of one element of a batch booking request. {@code status} carries the HTTP status the element would
+ * have produced on its own: 201 with the created {@code booking}, or an error status with the {@code error} text.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingBatchResultDto {
+
+    Integer index;
+
+    Integer status;
+
+    BookingDto booking;
+
+    String error;
+}
@@ -0,0 +1,34 @@
+package ru.practicum.server.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingSummaryDto {
+
+    long all;
+
+    long waiting;
+
+    long approved;
+
+    long rejected;
+
+    long current;
+
+    long future;
+
+    long past;
+}
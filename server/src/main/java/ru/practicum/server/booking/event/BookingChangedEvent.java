@@ -0,0 +1,15 @@
+package ru.practicum.server.booking.event;
+
+import ru.practicum.server.booking.dto.BookingDto;
+
+/**
+ * Published by the booking service once a booking change has been stored.
+ */
+public record BookingChangedEvent(Type type, BookingDto booking) {
+
+    public enum Type {
+        CREATED,
+        APPROVED,
+        REJECTED
+    }
+}
@@ -0,0 +1,155 @@
+package ru.practicum.server.booking.event;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans {@link BookingChangedEvent}s out to the owners' open Server-Sent Events connections.
+ * <p>
+ * An idle connection is just an async request and an empty buffer: no thread is held while nothing happens.
+ * Each connection has its own bounded buffer drained by at most one virtual thread at a time, so a slow client
+ * never blocks the publisher or the other clients. When a client falls more than {@link #BUFFER_CAPACITY} events
+ * behind, its buffer is dropped and it receives a single {@code resync} event asking it to reload the listing.
+ */
+@Slf4j
+@Component
+public class OwnerBookingStream {
+
+    public static final long TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    public static final int BUFFER_CAPACITY = 64;
+
+    private final Map<Long, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(long ownerId) {
+        return register(ownerId, new SseEmitter(TIMEOUT_MILLIS));
+    }
+
+    public SseEmitter register(long ownerId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(ownerId, emitter);
+        subscriptions.computeIfAbsent(ownerId, id -> ConcurrentHashMap.newKeySet()).add(subscription);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        log.debug("Owner {} subscribed to booking changes", ownerId);
+        return emitter;
+    }
+
+    public int subscriberCount(long ownerId) {
+        return subscriptions.getOrDefault(ownerId, Set.of()).size();
+    }
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Long ownerId = event.booking().getOwnerId();
+        if (ownerId == null) {
+            return;
+        }
+        for (Subscription subscription : subscriptions.getOrDefault(ownerId, Set.of())) {
+            subscription.offer(event);
+        }
+    }
+
+    @Scheduled(fixedDelay = 25_000)
+    public void heartbeat() {
+        subscriptions.values().forEach(owners -> owners.forEach(Subscription::ping));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(owners -> owners.forEach(s -> s.emitter.complete()));
+        sender.shutdownNow();
+    }
+
+    private final class Subscription {
+        private final long ownerId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BookingChangedEvent> buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+
+        private Subscription(long ownerId, SseEmitter emitter) {
+            this.ownerId = ownerId;
+            this.emitter = emitter;
+        }
+
+        void offer(BookingChangedEvent event) {
+            if (!buffer.offer(event)) {
+                overflowed.set(true);
+            }
+            scheduleDrain();
+        }
+
+        void ping() {
+            heartbeatDue.set(true);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private boolean hasWork() {
+            return !buffer.isEmpty() || overflowed.get() || heartbeatDue.get();
+        }
+
+        private void drain() {
+            try {
+                do {
+                    sendPending();
+                    draining.set(false);
+                } while (hasWork() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Dropping booking stream of owner {}: {}", ownerId, e.getMessage());
+                draining.set(false);
+                emitter.completeWithError(e);
+                close();
+            }
+        }
+
+        private void sendPending() throws IOException {
+            while (true) {
+                if (overflowed.getAndSet(false)) {
+                    buffer.clear();
+                    emitter.send(SseEmitter.event().name("resync").data(""));
+                }
+                BookingChangedEvent event = buffer.poll();
+                if (event == null) {
+                    break;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.booking().getId()))
+                        .name(event.type().name())
+                        .data(event.booking()));
+            }
+            if (heartbeatDue.getAndSet(false)) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        void close() {
+            subscriptions.computeIfPresent(ownerId, (id, owners) -> {
+                owners.remove(this);
+                return owners.isEmpty() ? null : owners;
+            });
+        }
+    }
+}
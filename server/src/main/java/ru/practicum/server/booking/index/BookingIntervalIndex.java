@@ -0,0 +1,154 @@
+package ru.practicum.server.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.repository.BookingPeriod;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.user.event.UserChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-item sorted map of the periods held by waiting and approved bookings.
+ * <p>
+ * Periods are half-open ({@code [start, end)}) and the index never admits two overlapping periods for the same
+ * item, so ordering by start also orders by end. A conflict check therefore only has to look at the period with
+ * the greatest start before the requested end, which is a single {@link TreeMap} lookup.
+ * <p>
+ * The index lives in this server instance only; the exclusion constraint in {@code schema-postgresql.sql} remains
+ * the final guard against overlapping bookings.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+
+    static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> periodsByItem = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        log.info("Booking interval index warmed up with {} active periods", reload());
+    }
+
+    /**
+     * Deleting a user cascades to their bookings and to the bookings of their items in the database, which the index
+     * cannot see, so it is reloaded from the stored periods once the deletion has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.type() == UserChangedEvent.Type.DELETED) {
+            log.info("Booking interval index reloaded with {} active periods after user ID: {} was deleted",
+                    reload(), event.userId());
+        }
+    }
+
+    /**
+     * Replaces the held periods of every item with the active periods stored in the database. A reservation that is
+     * still being stored while this runs is dropped from the index; the database constraint still guards it.
+     */
+    private int reload() {
+        List<BookingPeriod> periods = bookingRepository.findPeriodsEndingAfter(ACTIVE_STATUSES, LocalDateTime.now());
+        Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> stored = new HashMap<>();
+        for (BookingPeriod period : periods) {
+            stored.computeIfAbsent(period.getItemId(), id -> new TreeMap<>())
+                    .merge(period.getStart(), period.getEnd(), (a, b) -> a.isAfter(b) ? a : b);
+        }
+        Set<Long> itemIds = new HashSet<>(periodsByItem.keySet());
+        itemIds.addAll(stored.keySet());
+        for (Long itemId : itemIds) {
+            NavigableMap<LocalDateTime, LocalDateTime> itemPeriods = periodsOf(itemId);
+            synchronized (itemPeriods) {
+                itemPeriods.clear();
+                itemPeriods.putAll(stored.getOrDefault(itemId, Collections.emptyNavigableMap()));
+            }
+        }
+        return periods.size();
+    }
+
+    /**
+     * Records the period for the item unless it overlaps a period that is already held.
+     *
+     * @return {@code false} if the period conflicts with an active booking
+     */
+    public boolean tryReserve(long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemPeriods = periodsOf(itemId);
+        synchronized (itemPeriods) {
+            evictFinished(itemPeriods, LocalDateTime.now());
+            if (findOverlapping(itemPeriods, start, end) != null) {
+                return false;
+            }
+            itemPeriods.put(start, end);
+            return true;
+        }
+    }
+
+    /**
+     * Frees the period held for the item. The stored period is located through the requested end rather than by
+     * exact key, so values that lost precision on their way through the database still match.
+     */
+    public void release(long itemId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemPeriods = periodsByItem.get(itemId);
+        if (itemPeriods == null) {
+            return;
+        }
+        synchronized (itemPeriods) {
+            Map.Entry<LocalDateTime, LocalDateTime> held = findOverlapping(itemPeriods, start, end);
+            if (held != null) {
+                itemPeriods.remove(held.getKey());
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the held periods of the item that overlap {@code [from, to)}, ordered by start.
+     */
+    public NavigableMap<LocalDateTime, LocalDateTime> busyPeriods(long itemId, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, LocalDateTime> itemPeriods = periodsByItem.get(itemId);
+        NavigableMap<LocalDateTime, LocalDateTime> busy = new TreeMap<>();
+        if (itemPeriods == null) {
+            return busy;
+        }
+        synchronized (itemPeriods) {
+            Map.Entry<LocalDateTime, LocalDateTime> first = itemPeriods.lowerEntry(from);
+            if (first != null && first.getValue().isAfter(from)) {
+                busy.put(first.getKey(), first.getValue());
+            }
+            busy.putAll(itemPeriods.subMap(from, true, to, false));
+        }
+        return busy;
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> periodsOf(long itemId) {
+        return periodsByItem.computeIfAbsent(itemId, id -> new TreeMap<>());
+    }
+
+    private static Map.Entry<LocalDateTime, LocalDateTime> findOverlapping(
+            NavigableMap<LocalDateTime, LocalDateTime> itemPeriods, LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, LocalDateTime> candidate = itemPeriods.lowerEntry(end);
+        return candidate != null && candidate.getValue().isAfter(start) ? candidate : null;
+    }
+
+    private static void evictFinished(NavigableMap<LocalDateTime, LocalDateTime> itemPeriods, LocalDateTime now) {
+        while (!itemPeriods.isEmpty() && !itemPeriods.firstEntry().getValue().isAfter(now)) {
+            itemPeriods.pollFirstEntry();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package ru.practicum.server.booking.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.event.BookingChangedEvent;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.repository.BookingStay;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Set of the {@code (booker, item)} pairs whose booking has already ended, which is what entitles a user to comment
+ * on an item.
+ * <p>
+ * Both ids are packed into one {@code long} and kept in an open-addressing hash table, so a check is a single probe
+ * sequence without boxing. Bookings that have not ended yet wait in a queue ordered by end and join the set the first
+ * time a check runs after they end. The set only ever answers "yes" from memory: a miss, for example for a booking
+ * stored without going through the booking service, falls back to an indexed database lookup and caches a positive
+ * answer, so a missed event costs one query rather than a wrong answer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompletedStays {
+
+    private static final long NOT_PACKABLE = -1L;
+
+    private final BookingRepository bookingRepository;
+
+    private final PackedLongSet completed = new PackedLongSet();
+    private final PriorityQueue<Stay> pending = new PriorityQueue<>(Comparator.comparing(Stay::end));
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingStay> ended = bookingRepository.findStaysEndedBefore(now);
+        List<BookingStay> ending = bookingRepository.findStaysEndingFrom(now);
+        synchronized (this) {
+            for (BookingStay stay : ended) {
+                long key = pack(stay.getBookerId(), stay.getItemId());
+                if (key != NOT_PACKABLE) {
+                    completed.add(key);
+                }
+            }
+            ending.forEach(stay -> pending.add(new Stay(pack(stay.getBookerId(), stay.getItemId()), stay.getEnd())));
+        }
+        log.info("Completed stays warmed up with {} completed and {} pending stays", ended.size(), ending.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingDto booking = event.booking();
+        if (event.type() != BookingChangedEvent.Type.CREATED || booking.getBookerId() == null) {
+            return;
+        }
+        long key = pack(booking.getBookerId(), booking.getItemId());
+        synchronized (this) {
+            pending.add(new Stay(key, booking.getEnd()));
+        }
+    }
+
+    /**
+     * Tells whether the user has a booking of the item that ended before now.
+     */
+    public boolean hasCompletedStay(long userId, long itemId) {
+        LocalDateTime now = LocalDateTime.now();
+        long key = pack(userId, itemId);
+        synchronized (this) {
+            promoteEnded(now);
+            if (key != NOT_PACKABLE && completed.contains(key)) {
+                return true;
+            }
+        }
+        boolean found = bookingRepository.existsByBooker_IdAndItem_IdAndEndBefore(userId, itemId, now);
+        if (found && key != NOT_PACKABLE) {
+            synchronized (this) {
+                completed.add(key);
+            }
+        }
+        return found;
+    }
+
+    private void promoteEnded(LocalDateTime now) {
+        Stay next;
+        while ((next = pending.peek()) != null && next.end().isBefore(now)) {
+            pending.poll();
+            if (next.key() != NOT_PACKABLE) {
+                completed.add(next.key());
+            }
+        }
+    }
+
+    /**
+     * Packs both ids into the high and low halves of a {@code long}. Ids that do not fit into 32 bits are left to the
+     * database.
+     */
+    private static long pack(Long userId, Long itemId) {
+        if (userId == null || itemId == null || userId <= 0 || itemId <= 0
+                || userId > 0xFFFF_FFFFL || itemId > 0xFFFF_FFFFL) {
+            return NOT_PACKABLE;
+        }
+        return userId << 32 | itemId;
+    }
+
+    private record Stay(long key, LocalDateTime end) {
+    }
+
+    /**
+     * Open-addressing set of positive longs with linear probing; zero marks a free slot.
+     */
+    private static final class PackedLongSet {
+        private long[] slots = new long[1 << 10];
+        private int size;
+
+        boolean contains(long key) {
+            int mask = slots.length - 1;
+            for (int slot = mix(key) & mask; slots[slot] != 0; slot = slot + 1 & mask) {
+                if (slots[slot] == key) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void add(long key) {
+            if (size * 2 >= slots.length) {
+                grow();
+            }
+            int mask = slots.length - 1;
+            int slot = mix(key) & mask;
+            while (slots[slot] != 0) {
+                if (slots[slot] == key) {
+                    return;
+                }
+                slot = slot + 1 & mask;
+            }
+            slots[slot] = key;
+            size++;
+        }
+
+        private void grow() {
+            long[] old = slots;
+            slots = new long[old.length * 2];
+            size = 0;
+            for (long key : old) {
+                if (key != 0) {
+                    add(key);
+                }
+            }
+        }
+
+        private static int mix(long key) {
+            long hash = key * 0x9E37_79B9_7F4A_7C15L;
+            return (int) (hash ^ hash >>> 32);
+        }
+    }
+}
@@ -27,7 +27,7 @@ public class BookingMapper {
                 .status(booking.getStatus())
                 .approved(booking.getStatus() == Status.APPROVED)
                 .ownerId(booking.getOwner().getId())
-                .item(ItemMapper.toItemDto(booking.getItem()))
+                .item(ItemMapper.toItemShortDto(booking.getItem()))
                 .booker(UserMapper.toUserDto(booking.getBooker()))
                 .build();
     }
@@ -30,7 +30,8 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -60,4 +61,8 @@ public class Booking {
 
     @Column(name = "available", nullable = false)
     Boolean available;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    Long version;
 }
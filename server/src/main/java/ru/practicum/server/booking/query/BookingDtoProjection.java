@@ -0,0 +1,121 @@
+package ru.practicum.server.booking.query;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.QTuple;
+import com.querydsl.core.types.Visitor;
+import com.querydsl.core.types.dsl.BooleanPath;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.EnumPath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.StringPath;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.model.Booking;
+import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.mapper.ItemMapper;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.request.model.ItemRequest;
+import ru.practicum.server.user.dto.UserDto;
+import ru.practicum.server.user.model.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Assembles a {@link BookingDto} with its nested item and booker from one flat row, the same shape
+ * {@code BookingMapper} produces from entities (item comments are not part of a booking listing).
+ * Every column is read back through the path it was selected with, so the select list can change freely.
+ */
+class BookingDtoProjection extends FactoryExpressionBase<BookingDto> {
+
+    private final NumberPath<Long> id;
+    private final DateTimePath<LocalDateTime> start;
+    private final DateTimePath<LocalDateTime> end;
+    private final EnumPath<Status> status;
+    private final NumberPath<Long> ownerId;
+    private final NumberPath<Long> itemId;
+    private final StringPath itemName;
+    private final StringPath itemDescription;
+    private final BooleanPath itemAvailable;
+    private final NumberPath<Long> itemOwnerId;
+    private final NumberPath<Long> requestId;
+    private final DateTimePath<Instant> lastBooking;
+    private final DateTimePath<Instant> nextBooking;
+    private final NumberPath<Long> bookerId;
+    private final StringPath bookerName;
+    private final StringPath bookerEmail;
+
+    private final QTuple row;
+
+    BookingDtoProjection(PathBuilder<Booking> booking, PathBuilder<Item> item, PathBuilder<User> booker,
+                         PathBuilder<ItemRequest> request) {
+        super(BookingDto.class);
+        id = booking.getNumber("id", Long.class);
+        start = booking.getDateTime("start", LocalDateTime.class);
+        end = booking.getDateTime("end", LocalDateTime.class);
+        status = booking.getEnum("status", Status.class);
+        ownerId = booking.get("owner", User.class).getNumber("id", Long.class);
+        itemId = item.getNumber("id", Long.class);
+        itemName = item.getString("name");
+        itemDescription = item.getString("description");
+        itemAvailable = item.getBoolean("available");
+        itemOwnerId = item.get("owner", User.class).getNumber("id", Long.class);
+        requestId = request.getNumber("id", Long.class);
+        lastBooking = item.getDateTime("lastBooking", Instant.class);
+        nextBooking = item.getDateTime("nextBooking", Instant.class);
+        bookerId = booker.getNumber("id", Long.class);
+        bookerName = booker.getString("name");
+        bookerEmail = booker.getString("email");
+        row = Projections.tuple(id, start, end, status, ownerId, itemId, itemName, itemDescription, itemAvailable,
+                itemOwnerId, requestId, lastBooking, nextBooking, bookerId, bookerName, bookerEmail);
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return row.getArgs();
+    }
+
+    @Override
+    public BookingDto newInstance(Object... args) {
+        Tuple tuple = row.newInstance(args);
+        Status bookingStatus = tuple.get(status);
+        ItemDto item = ItemDto.builder()
+                .id(tuple.get(itemId))
+                .name(tuple.get(itemName))
+                .description(tuple.get(itemDescription))
+                .available(tuple.get(itemAvailable))
+                .owner(tuple.get(itemOwnerId))
+                .request(tuple.get(requestId))
+                .requestId(tuple.get(requestId))
+                .lastBooking(ItemMapper.formatBookingDate(tuple.get(lastBooking)))
+                .nextBooking(ItemMapper.formatBookingDate(tuple.get(nextBooking)))
+                .build();
+        UserDto booker = UserDto.builder()
+                .id(tuple.get(bookerId))
+                .name(tuple.get(bookerName))
+                .email(tuple.get(bookerEmail))
+                .build();
+        return BookingDto.builder()
+                .id(tuple.get(id))
+                .start(tuple.get(start))
+                .end(tuple.get(end))
+                .status(bookingStatus)
+                .approved(bookingStatus == Status.APPROVED)
+                .ownerId(tuple.get(ownerId))
+                .itemId(item.getId())
+                .item(item)
+                .bookerId(booker.getId())
+                .booker(booker)
+                .build();
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+}
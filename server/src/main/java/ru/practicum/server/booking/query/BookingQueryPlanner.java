@@ -0,0 +1,119 @@
+package ru.practicum.server.booking.query;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.EnumPath;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.utils.KeysetCursor;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.model.Booking;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.request.model.ItemRequest;
+import ru.practicum.server.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the booking read queries: the listing for every {@code (state, owner/booker, cursor)} combination and
+ * the lookup of a single booking.
+ * <p>
+ * Each query is compiled once into a template whose variable parts are {@link Param} placeholders; a call only
+ * clones the template, binds the parameters and fetches {@link BookingDto} rows directly, without loading the
+ * entities, so a read costs one statement whatever the number of rows.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingQueryPlanner {
+
+    private static final PathBuilder<Booking> BOOKING = new PathBuilder<>(Booking.class, "booking");
+    private static final PathBuilder<Item> ITEM = new PathBuilder<>(Item.class, "item");
+    private static final PathBuilder<User> BOOKER = new PathBuilder<>(User.class, "booker");
+    private static final PathBuilder<ItemRequest> REQUEST = new PathBuilder<>(ItemRequest.class, "request");
+
+    private static final NumberPath<Long> ID = BOOKING.getNumber("id", Long.class);
+    private static final DateTimePath<LocalDateTime> START = BOOKING.getDateTime("start", LocalDateTime.class);
+    private static final DateTimePath<LocalDateTime> END = BOOKING.getDateTime("end", LocalDateTime.class);
+    private static final EnumPath<Status> STATUS = BOOKING.getEnum("status", Status.class);
+    private static final NumberPath<Long> BOOKER_ID = BOOKER.getNumber("id", Long.class);
+    private static final NumberPath<Long> OWNER_ID = BOOKING.get("owner", User.class).getNumber("id", Long.class);
+
+    private static final Param<Long> BOOKING_ID = new Param<>(Long.class, "bookingId");
+    private static final Param<Long> PERSON = new Param<>(Long.class, "person");
+    private static final Param<LocalDateTime> NOW = new Param<>(LocalDateTime.class, "now");
+    private static final Param<LocalDateTime> CURSOR_START = new Param<>(LocalDateTime.class, "cursorStart");
+    private static final Param<Long> CURSOR_ID = new Param<>(Long.class, "cursorId");
+
+    private static final BookingDtoProjection PROJECTION = new BookingDtoProjection(BOOKING, ITEM, BOOKER, REQUEST);
+
+    private final EntityManager entityManager;
+
+    private final Map<Plan, JPAQuery<BookingDto>> plans = new ConcurrentHashMap<>();
+
+    private final JPAQuery<BookingDto> byId = selectBookings().where(ID.eq(BOOKING_ID));
+
+    public Optional<BookingDto> findById(long bookingId) {
+        return Optional.ofNullable(byId.clone(entityManager)
+                .set(BOOKING_ID, bookingId)
+                .fetchOne());
+    }
+
+    public List<BookingDto> find(long personId, boolean isOwner, Status state, KeysetCursor<LocalDateTime> cursor, Pageable page) {
+        JPAQuery<BookingDto> query = plans.computeIfAbsent(new Plan(state, isOwner, !cursor.isFirst()), this::compile)
+                .clone(entityManager)
+                .set(PERSON, personId)
+                .set(NOW, LocalDateTime.now());
+        if (!cursor.isFirst()) {
+            query.set(CURSOR_START, cursor.getPosition())
+                    .set(CURSOR_ID, cursor.getId());
+        }
+        return query.offset(page.getOffset())
+                .limit(page.getPageSize())
+                .fetch();
+    }
+
+    private JPAQuery<BookingDto> compile(Plan plan) {
+        BooleanBuilder where = new BooleanBuilder((plan.isOwner() ? OWNER_ID : BOOKER_ID).eq(PERSON));
+        where.and(statePredicate(plan.state()));
+        if (plan.hasCursor()) {
+            where.and(START.lt(CURSOR_START).or(START.eq(CURSOR_START).and(ID.lt(CURSOR_ID))));
+        }
+        return selectBookings()
+                .where(where)
+                .orderBy(START.desc(), ID.desc());
+    }
+
+    private static JPAQuery<BookingDto> selectBookings() {
+        return new JPAQuery<Void>()
+                .select(PROJECTION)
+                .from(BOOKING)
+                .join(BOOKING.get("item", Item.class), ITEM)
+                .join(BOOKING.get("booker", User.class), BOOKER)
+                .leftJoin(ITEM.get("request", ItemRequest.class), REQUEST);
+    }
+
+    private static Predicate statePredicate(Status state) {
+        return switch (state) {
+            case ALL -> null;
+            case CURRENT -> START.loe(NOW).and(END.goe(NOW));
+            case PAST -> END.lt(NOW);
+            case FUTURE -> START.gt(NOW);
+            case WAITING, APPROVED, REJECTED, CANCELED -> STATUS.eq(state);
+        };
+    }
+
+    private record Plan(Status state, boolean isOwner, boolean hasCursor) {
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.server.booking.repository;
+
+import ru.practicum.server.booking.Status;
+
+import java.time.LocalDateTime;
+
+public interface BookingExportRow {
+
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    Long getOwnerId();
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+
+    Status getStatus();
+}
@@ -1,95 +1,73 @@
 package ru.practicum.server.booking.repository;
 
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.server.booking.model.Booking;
 import ru.practicum.server.booking.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    @Query(value = "SELECT * FROM Bookings b WHERE b.booker_id = :userId AND b.item_id = :itemId " +
-            "AND b.end_date < :instant " +
-            "ORDER BY b.end_date DESC LIMIT 1", nativeQuery = true)
-    Optional<Booking> findByItemIdAndUserIdAndEndBookingBefore(Long itemId, Long userId, LocalDateTime instant);
-
-    @EntityGraph(attributePaths = {"item", "booker", "owner"})
-    @Query("SELECT b FROM Booking b WHERE b.booker.id = :userId AND (:status IS NULL OR b.status = :status) ORDER BY b.start DESC")
-    List<Booking> findByBookerAndStatus(long userId, Status status);
-
-    @EntityGraph(attributePaths = {"item", "booker", "owner"})
-    @Query("SELECT b FROM Booking b WHERE b.item.owner.id = :ownerId AND (:status IS NULL OR b.status = :status) ORDER BY b.start DESC")
-    List<Booking> findByOwnerAndStatus(long ownerId, Status status);
-
-    // USER
-
-    default List<Booking> findWaitingForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.WAITING);
-    }
-
-    default List<Booking> findCancelledForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.CANCELED);
-    }
-
-    default List<Booking> findApprovedForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.APPROVED);
-    }
-
-    default List<Booking> findRejectedForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.REJECTED);
-    }
-
-    default List<Booking> findAllForCurrentUser(long id) {
-        return findByBookerAndStatus(id, null);
-    }
-
-    default List<Booking> findCurrentForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.CURRENT);
-    }
-
-    default List<Booking> findPastForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.PAST);
-    }
-
-    default List<Booking> findFutureForCurrentUser(long id) {
-        return findByBookerAndStatus(id, Status.FUTURE);
-    }
-
-    // OWNER
-
-    default List<Booking> findWaitingForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.WAITING);
-    }
-
-    default List<Booking> findRejectedForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.REJECTED);
-    }
-
-    default List<Booking> findApprovedForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.APPROVED);
-    }
-
-    default List<Booking> findCancelledForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.CANCELED);
-    }
-
-    default List<Booking> findAllForOwnerId(long id) {
-        return findByOwnerAndStatus(id, null);
-    }
-
-    default List<Booking> findCurrentForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.CURRENT);
-    }
-
-    default List<Booking> findPastForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.PAST);
-    }
-
-    default List<Booking> findFutureForOwnerId(long id) {
-        return findByOwnerAndStatus(id, Status.FUTURE);
-    }
+    boolean existsByBooker_IdAndItem_IdAndEndBefore(Long bookerId, Long itemId, LocalDateTime instant);
+
+    @Query("SELECT b.booker.id AS bookerId, b.item.id AS itemId, MAX(b.end) AS end FROM Booking b " +
+            "WHERE b.end < :instant GROUP BY b.booker.id, b.item.id")
+    List<BookingStay> findStaysEndedBefore(LocalDateTime instant);
+
+    @Query("SELECT b.booker.id AS bookerId, b.item.id AS itemId, b.end AS end FROM Booking b " +
+            "WHERE b.end >= :instant")
+    List<BookingStay> findStaysEndingFrom(LocalDateTime instant);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.status IN :statuses AND b.end > :instant")
+    List<BookingPeriod> findPeriodsEndingAfter(Collection<Status> statuses, LocalDateTime instant);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.available = false, b.version = b.version + 1 " +
+            "WHERE b.id = :bookingId AND b.status = :expected")
+    int updateStatusIfCurrent(long bookingId, Status expected, Status status);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.id <> :bookingId AND b.status = :status " +
+            "AND b.start < :end AND b.end > :start")
+    boolean existsOverlapping(long itemId, long bookingId, Status status, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * For every item of the owner with approved bookings, the latest start that is not in the future and the
+     * earliest start that is, in one pass over the owner's bookings.
+     */
+    @Query("SELECT b.item.id AS itemId, " +
+            "MAX(CASE WHEN b.start <= :instant THEN b.start END) AS lastBooking, " +
+            "MIN(CASE WHEN b.start > :instant THEN b.start END) AS nextBooking " +
+            "FROM Booking b WHERE b.owner.id = :ownerId AND b.status = :status GROUP BY b.item.id")
+    List<ItemBookingDates> findBookingDatesOfOwner(long ownerId, Status status, LocalDateTime instant);
+
+    @Query("SELECT b.status AS status, COUNT(b) AS total FROM Booking b WHERE b.booker.id = :bookerId " +
+            "GROUP BY b.status")
+    List<BookingStatusCount> countByStatusForBooker(long bookerId);
+
+    @Query("SELECT b.status AS status, COUNT(b) AS total FROM Booking b WHERE b.owner.id = :ownerId " +
+            "GROUP BY b.status")
+    List<BookingStatusCount> countByStatusForOwner(long ownerId);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.booker.id = :bookerId AND b.end >= :instant")
+    List<BookingPeriod> findPeriodsOfBookerEndingFrom(long bookerId, LocalDateTime instant);
+
+    @Query("SELECT b.item.id AS itemId, b.start AS start, b.end AS end FROM Booking b " +
+            "WHERE b.owner.id = :ownerId AND b.end >= :instant")
+    List<BookingPeriod> findPeriodsOfOwnerEndingFrom(long ownerId, LocalDateTime instant);
+
+    @Query("SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.owner.id AS ownerId, " +
+            "b.start AS start, b.end AS end, b.status AS status FROM Booking b ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BookingExportRow> streamAllForExport();
 }
@@ -0,0 +1,10 @@
+package ru.practicum.server.booking.repository;
+
+import ru.practicum.server.booking.Status;
+
+public interface BookingStatusCount {
+
+    Status getStatus();
+
+    Long getTotal();
+}
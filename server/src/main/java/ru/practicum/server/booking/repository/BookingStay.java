@@ -0,0 +1,12 @@
+package ru.practicum.server.booking.repository;
+
+import java.time.LocalDateTime;
+
+public interface BookingStay {
+
+    Long getBookerId();
+
+    Long getItemId();
+
+    LocalDateTime getEnd();
+}
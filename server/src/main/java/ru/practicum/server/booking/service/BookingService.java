@@ -1,6 +1,9 @@
 package ru.practicum.server.booking.service;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.dto.BookingSummaryDto;
 
 import java.util.List;
 
@@ -8,11 +11,19 @@ public interface BookingService {
 
     BookingDto createBooking(BookingDto bookingDto, Long userId);
 
+    List<BookingBatchResultDto> createBookings(List<BookingDto> bookingDtos, Long userId);
+
     BookingDto approveBooking(Long bookingId, boolean approved, Long userId);
 
     BookingDto getBookingById(Long bookingId);
 
-    List<BookingDto> getBookingsForCurrentUser(Long userId, String state);
+    List<BookingDto> getBookingsForCurrentUser(Long userId, String state, String cursor, int from, int size);
+
+    List<BookingDto> getBookingsForOwner(Long userId, String state, String cursor, int from, int size);
+
+    BookingSummaryDto getBookerSummary(Long userId);
+
+    BookingSummaryDto getOwnerSummary(Long ownerId);
 
-    List<BookingDto> getBookingsForOwner(Long userId, String state);
+    SseEmitter streamOwnerBookings(Long ownerId);
 }
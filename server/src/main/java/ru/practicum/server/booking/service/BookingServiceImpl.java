@@ -2,24 +2,54 @@ package ru.practicum.server.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.server.booking.dto.BookingBatchResultDto;
+import ru.practicum.server.utils.KeysetCursor;
 import ru.practicum.server.booking.dto.BookingDto;
-import ru.practicum.server.booking.handler.AllBookingHandler;
+import ru.practicum.server.booking.dto.BookingSummaryDto;
+import ru.practicum.server.booking.event.BookingChangedEvent;
+import ru.practicum.server.booking.event.OwnerBookingStream;
+import ru.practicum.server.booking.index.BookingIntervalIndex;
 import ru.practicum.server.booking.mapper.BookingMapper;
+import ru.practicum.server.booking.query.BookingQueryPlanner;
 import ru.practicum.server.booking.model.Booking;
 import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.summary.BookingSummaryCounters;
 import ru.practicum.server.booking.Status;
+import ru.practicum.server.exception.BookingConflictException;
 import ru.practicum.server.exception.InvalidParamException;
 import ru.practicum.server.exception.NotFoundException;
+import ru.practicum.server.item.event.ItemChangedEvent;
 import ru.practicum.server.item.model.Item;
 import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.cache.UserCache;
 import ru.practicum.server.user.model.User;
-import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.utils.OffsetPageRequest;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static ru.practicum.server.utils.GlobalConstants.BOOKING_ALREADY_PROCESSED;
+import static ru.practicum.server.utils.GlobalConstants.BOOKING_APPROVAL_CONTENDED;
 import static ru.practicum.server.utils.GlobalConstants.BOOKING_NOT_FOUND;
+import static ru.practicum.server.utils.GlobalConstants.BOOKING_OVERLAPS;
+import static ru.practicum.server.utils.GlobalConstants.INVALID_BATCH_SIZE;
+import static ru.practicum.server.utils.GlobalConstants.INVALID_BOOKING_PERIOD;
 import static ru.practicum.server.utils.GlobalConstants.INVALID_STATE;
 import static ru.practicum.server.utils.GlobalConstants.ITEM_NOT_AVAILABLE;
 import static ru.practicum.server.utils.GlobalConstants.ITEM_NOT_FOUND;
@@ -31,34 +61,68 @@ import static ru.practicum.server.utils.GlobalConstants.USER_NOT_OWNER;
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final int MAX_APPROVE_ATTEMPTS = 8;
+    private static final long APPROVE_BACKOFF_MILLIS = 2;
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
-    private final AllBookingHandler allBookingHandler;
+    private final BookingQueryPlanner bookingQueryPlanner;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OwnerBookingStream ownerBookingStream;
+    private final BookingSummaryCounters bookingSummaryCounters;
 
     @Override
     public BookingDto createBooking(BookingDto bookingDto, Long userId) {
-        User booker = userRepository.findById(userId)
+        User booker = userCache.find(userId)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND + userId));
 
         Item item = itemRepository.findById(bookingDto.getItemId())
                 .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND + bookingDto.getItemId()));
 
         checkItemAvailability(item);
+        checkBookingPeriod(bookingDto);
 
         bookingDto.setBookerId(userId);
 
         Booking booking = BookingMapper.toBooking(bookingDto, booker, item);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        if (!bookingIntervalIndex.tryReserve(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingConflictException(BOOKING_OVERLAPS + item.getId());
+        }
+
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            bookingIntervalIndex.release(item.getId(), booking.getStart(), booking.getEnd());
+            throw new BookingConflictException(BOOKING_OVERLAPS + item.getId());
+        } catch (RuntimeException e) {
+            bookingIntervalIndex.release(item.getId(), booking.getStart(), booking.getEnd());
+            throw e;
+        }
+
+        BookingDto createdBooking = BookingMapper.toBookingDto(savedBooking);
+        eventPublisher.publishEvent(new BookingChangedEvent(BookingChangedEvent.Type.CREATED, createdBooking));
+        return createdBooking;
+    }
 
-        return BookingMapper.toBookingDto(savedBooking);
+    private void checkBookingPeriod(BookingDto bookingDto) {
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null
+                || !bookingDto.getEnd().isAfter(bookingDto.getStart())) {
+            throw new InvalidParamException(INVALID_BOOKING_PERIOD,
+                    "start=" + bookingDto.getStart() + ", end=" + bookingDto.getEnd());
+        }
     }
 
     public void checkItemAvailability(Item item) {
         if (!item.getAvailable()) {
             if (item.getLastBooking() != null && item.getLastBooking().isBefore(Instant.now())) {
                 item.setAvailable(true);
+                eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
             } else {
                 throw new RuntimeException(ITEM_NOT_AVAILABLE);
             }
@@ -67,62 +131,247 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public BookingDto getBookingById(Long bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        return bookingQueryPlanner.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND + bookingId));
-        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Override
+    public List<BookingBatchResultDto> createBookings(List<BookingDto> bookingDtos, Long userId) {
+        if (bookingDtos == null || bookingDtos.isEmpty() || bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidParamException(String.format(INVALID_BATCH_SIZE, MAX_BATCH_SIZE),
+                    String.valueOf(bookingDtos == null ? 0 : bookingDtos.size()));
+        }
+        log.info("Creating a batch of {} bookings for user ID: {}", bookingDtos.size(), userId);
+
+        User booker = userCache.find(userId)
+                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND + userId));
+        Set<Long> itemIds = new HashSet<>();
+        for (BookingDto bookingDto : bookingDtos) {
+            if (bookingDto != null && bookingDto.getItemId() != null) {
+                itemIds.add(bookingDto.getItemId());
+            }
+        }
+        Map<Long, Item> items = itemRepository.findAllByIdIn(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtos.size()];
+        List<Booking> reserved = new ArrayList<>();
+        List<Integer> reservedIndexes = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            try {
+                reserved.add(reserveBatchElement(bookingDtos.get(i), booker, items));
+                reservedIndexes.add(i);
+            } catch (RuntimeException e) {
+                results[i] = failedBatchElement(i, e);
+            }
+        }
+
+        List<Booking> saved;
+        try {
+            saved = transactionTemplate.execute(tx -> bookingRepository.saveAll(reserved));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} bookings failed, falling back to single inserts", reserved.size());
+            saved = new ArrayList<>();
+            for (Booking booking : reserved) {
+                saved.add(saveReserved(booking));
+            }
+        } catch (RuntimeException e) {
+            reserved.forEach(this::releaseReserved);
+            throw e;
+        }
+
+        for (int i = 0; i < reserved.size(); i++) {
+            int index = reservedIndexes.get(i);
+            Booking booking = saved.get(i);
+            if (booking == null) {
+                results[index] = failedBatchElement(index,
+                        new BookingConflictException(BOOKING_OVERLAPS + reserved.get(i).getItem().getId()));
+                continue;
+            }
+            BookingDto createdBooking = BookingMapper.toBookingDto(booking);
+            eventPublisher.publishEvent(new BookingChangedEvent(BookingChangedEvent.Type.CREATED, createdBooking));
+            results[index] = BookingBatchResultDto.builder()
+                    .index(index)
+                    .status(201)
+                    .booking(createdBooking)
+                    .build();
+        }
+        return List.of(results);
+    }
+
+    private Booking reserveBatchElement(BookingDto bookingDto, User booker, Map<Long, Item> items) {
+        if (bookingDto == null || bookingDto.getItemId() == null) {
+            throw new InvalidParamException("itemId", "Item ID cannot be null");
+        }
+        Item item = items.get(bookingDto.getItemId());
+        if (item == null) {
+            throw new NotFoundException(ITEM_NOT_FOUND + bookingDto.getItemId());
+        }
+        checkItemAvailability(item);
+        checkBookingPeriod(bookingDto);
+
+        bookingDto.setId(null);
+        bookingDto.setBookerId(booker.getId());
+        Booking booking = BookingMapper.toBooking(bookingDto, booker, item);
+        if (!bookingIntervalIndex.tryReserve(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingConflictException(BOOKING_OVERLAPS + item.getId());
+        }
+        return booking;
+    }
+
+    private Booking saveReserved(Booking booking) {
+        try {
+            booking.setId(null);
+            booking.setVersion(null);
+            return bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            releaseReserved(booking);
+            return null;
+        }
+    }
+
+    private void releaseReserved(Booking booking) {
+        bookingIntervalIndex.release(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+    }
+
+    private static BookingBatchResultDto failedBatchElement(int index, RuntimeException e) {
+        int status;
+        String error;
+        if (e instanceof NotFoundException) {
+            status = 404;
+            error = e.getMessage();
+        } else if (e instanceof BookingConflictException) {
+            status = 409;
+            error = e.getMessage();
+        } else if (e instanceof InvalidParamException invalid) {
+            status = 400;
+            error = invalid.getParameter() + invalid.getReason();
+        } else {
+            status = 400;
+            error = e.getMessage();
+        }
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(status)
+                .error(error)
+                .build();
     }
 
     @Override
     public BookingDto approveBooking(Long bookingId, boolean approved, Long userId) {
         log.info("Approving booking with ID: {}", bookingId);
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BookingDto updatedBooking = transactionTemplate.execute(tx -> applyDecision(bookingId, status, userId));
+                if (!approved) {
+                    bookingIntervalIndex.release(updatedBooking.getItemId(),
+                            updatedBooking.getStart(), updatedBooking.getEnd());
+                }
+                log.info("Booking with ID: {} has been {}", bookingId, approved ? "approved" : "rejected");
+                eventPublisher.publishEvent(new BookingChangedEvent(approved
+                        ? BookingChangedEvent.Type.APPROVED
+                        : BookingChangedEvent.Type.REJECTED, updatedBooking));
+                eventPublisher.publishEvent(new ItemChangedEvent(updatedBooking.getItemId()));
+                return updatedBooking;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_APPROVE_ATTEMPTS) {
+                    log.warn("Giving up approving booking {} after {} attempts", bookingId, attempt);
+                    throw new BookingConflictException(BOOKING_APPROVAL_CONTENDED + bookingId);
+                }
+                log.debug("Item version changed while approving booking {}, retry #{}", bookingId, attempt);
+                backOff(attempt);
+            }
+        }
+    }
+
+    private BookingDto applyDecision(Long bookingId, Status status, Long userId) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> {
                     log.warn(BOOKING_NOT_FOUND + bookingId);
                     return new NotFoundException(BOOKING_NOT_FOUND + bookingId);
                 });
-
-        log.info("Owner: {} (ID: {})", booking.getOwner().getName(), booking.getOwner().getId());
-
         validateBookingOwner(booking, userId);
 
-        booking.setAvailable(false);
-        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+        Item item = booking.getItem();
+        long itemId = item.getId();
+        long itemVersion = item.getVersion();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
 
-        Booking updatedBooking = bookingRepository.save(booking);
-        log.info("Booking with ID: {} has been {}", bookingId, approved ? "approved" : "rejected");
-        log.info("Owner: {} (ID: {}), Booker: {} (ID: {}) approved the booking.",
-                booking.getOwner().getName(), booking.getOwner().getId(),
-                booking.getBooker().getName(), booking.getBooker().getId());
+        if (bookingRepository.updateStatusIfCurrent(bookingId, Status.WAITING, status) == 0) {
+            throw new BookingConflictException(BOOKING_ALREADY_PROCESSED + bookingId);
+        }
+        if (status == Status.APPROVED
+                && bookingRepository.existsOverlapping(itemId, bookingId, Status.APPROVED, start, end)) {
+            throw new BookingConflictException(BOOKING_OVERLAPS + itemId);
+        }
+        if (itemRepository.updateAvailabilityIfVersion(itemId, itemVersion, false) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Item.class, itemId);
+        }
+        return bookingRepository.findById(bookingId)
+                .map(BookingMapper::toBookingDto)
+                .orElseThrow(() -> new NotFoundException(BOOKING_NOT_FOUND + bookingId));
+    }
 
-        Item item = itemRepository.findById(booking.getItem().getId())
-                .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND + booking.getItem().getId()));
+    private void backOff(int attempt) {
+        long bound = APPROVE_BACKOFF_MILLIS << Math.min(attempt, 4);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, bound));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException(BOOKING_APPROVAL_CONTENDED);
+        }
+    }
 
-        item.setAvailable(booking.getAvailable());
-        itemRepository.save(item);
+    @Override
+    public List<BookingDto> getBookingsForCurrentUser(Long userId, String state, String cursor, int from, int size) {
+        return getBookings(userId, state, cursor, from, size, false);
+    }
 
-        return BookingMapper.toBookingDto(updatedBooking);
+    @Override
+    public List<BookingDto> getBookingsForOwner(Long ownerId, String state, String cursor, int from, int size) {
+        return getBookings(ownerId, state, cursor, from, size, true);
     }
 
     @Override
-    public List<BookingDto> getBookingsForCurrentUser(Long userId, String state) {
-        return getBookings(userId, state, false);
+    public SseEmitter streamOwnerBookings(Long ownerId) {
+        if (!userCache.exists(ownerId)) {
+            throw new NotFoundException(USER_NOT_FOUND + ownerId);
+        }
+        return ownerBookingStream.subscribe(ownerId);
     }
 
     @Override
-    public List<BookingDto> getBookingsForOwner(Long ownerId, String state) {
-        return getBookings(ownerId, state, true);
+    public BookingSummaryDto getBookerSummary(Long userId) {
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException(USER_NOT_FOUND + userId);
+        }
+        return bookingSummaryCounters.bookerSummary(userId);
     }
 
-    private List<BookingDto> getBookings(Long userId, String state, boolean isOwner) {
-        Status status = validateUserAndGetStatus(userId, state);
+    @Override
+    public BookingSummaryDto getOwnerSummary(Long ownerId) {
+        if (!userCache.exists(ownerId)) {
+            throw new NotFoundException(USER_NOT_FOUND + ownerId);
+        }
+        return bookingSummaryCounters.ownerSummary(ownerId);
+    }
 
-        List<Booking> bookings = allBookingHandler.handle(userId, isOwner, status);
+    private List<BookingDto> getBookings(Long userId, String state, String cursor, int from, int size,
+                                         boolean isOwner) {
+        Status status = validateUserAndGetStatus(userId, state);
+        KeysetCursor<LocalDateTime> position = KeysetCursor.decode(cursor, LocalDateTime::parse);
+        Pageable page = toPage(position, from, size);
 
-        if (bookings == null) {
-            throw new InvalidParamException(INVALID_STATE, state);
-        }
+        return bookingQueryPlanner.find(userId, isOwner, status, position, page);
+    }
 
-        return BookingMapper.toBookingDtoList(bookings);
+    private Pageable toPage(KeysetCursor<LocalDateTime> cursor, int from, int size) {
+        Pageable page = OffsetPageRequest.of(from, size);
+        // the keyset predicate already skips everything up to the cursor, so the offset only applies to the first page
+        return cursor.isFirst() ? page : page.first();
     }
 
     private void validateBookingOwner(Booking booking, Long userId) {
@@ -134,8 +383,9 @@ public class BookingServiceImpl implements BookingService {
     }
 
     private Status validateUserAndGetStatus(Long userId, String state) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND + userId));
+        if (!userCache.exists(userId)) {
+            throw new NotFoundException(USER_NOT_FOUND + userId);
+        }
 
         try {
             return Status.valueOf(state);
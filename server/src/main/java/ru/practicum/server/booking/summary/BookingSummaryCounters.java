@@ -0,0 +1,230 @@
+package ru.practicum.server.booking.summary;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.dto.BookingSummaryDto;
+import ru.practicum.server.booking.event.BookingChangedEvent;
+import ru.practicum.server.booking.repository.BookingPeriod;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.repository.BookingStatusCount;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-state booking counts of bookers and owners, kept in memory and updated from {@link BookingChangedEvent}s.
+ * <p>
+ * A person's counters are loaded with two queries the first time their summary is read. From then on stored
+ * statuses move with the booking events, which are applied only once the changing transaction has committed.
+ * The time states ({@code CURRENT}, {@code FUTURE}, {@code PAST}) change with the clock instead, so every counter
+ * also keeps the start and end instants of its bookings that have not finished yet and moves them between the
+ * time states when a summary is read. Events that race with the initial load can be missed, so the periodic
+ * {@link #reconcile()} reloads the people whose counters were loaded or changed since the previous run, at most
+ * {@code shareit.booking-summary.reconcile-batch} of them per run. At most {@code shareit.booking-summary.max-tracked}
+ * people are tracked; the least recently read one is dropped to make room and is loaded again on its next read.
+ */
+@Slf4j
+@Component
+public class BookingSummaryCounters {
+
+    private final BookingRepository bookingRepository;
+    private final int reconcileBatch;
+
+    private final Map<Key, Tally> tallies;
+    private final Set<Key> touched = ConcurrentHashMap.newKeySet();
+
+    public BookingSummaryCounters(BookingRepository bookingRepository,
+                                  @Value("${shareit.booking-summary.max-tracked:100000}") int maxTracked,
+                                  @Value("${shareit.booking-summary.reconcile-batch:1000}") int reconcileBatch) {
+        this.bookingRepository = bookingRepository;
+        this.reconcileBatch = reconcileBatch;
+        this.tallies = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Tally> eldest) {
+                return size() > maxTracked;
+            }
+        };
+    }
+
+    public BookingSummaryDto bookerSummary(long bookerId) {
+        return summary(new Key(bookerId, false));
+    }
+
+    public BookingSummaryDto ownerSummary(long ownerId) {
+        return summary(new Key(ownerId, true));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingDto booking = event.booking();
+        LocalDateTime now = LocalDateTime.now();
+        for (Key key : List.of(new Key(booking.getBookerId(), false), new Key(booking.getOwnerId(), true))) {
+            Tally tally = key.personId() != null ? tracked(key) : null;
+            if (tally == null) {
+                continue;
+            }
+            switch (event.type()) {
+                case CREATED -> tally.add(booking.getStatus(), booking.getStart(), booking.getEnd(), now);
+                case APPROVED -> tally.move(Status.WAITING, Status.APPROVED);
+                case REJECTED -> tally.move(Status.WAITING, Status.REJECTED);
+            }
+            touched.add(key);
+        }
+    }
+
+    /**
+     * Reloads the people touched since the previous run. A key is taken off the touched set before its reload, so an
+     * event applied to the replaced counters while the reload runs marks it again for the next run.
+     */
+    @Scheduled(initialDelay = 300_000, fixedDelay = 300_000)
+    public void reconcile() {
+        int reloaded = 0;
+        int drifted = 0;
+        Iterator<Key> keys = touched.iterator();
+        while (reloaded < reconcileBatch && keys.hasNext()) {
+            Key key = keys.next();
+            keys.remove();
+            if (tracked(key) == null) {
+                continue;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            Tally fresh = load(key, now);
+            reloaded++;
+            Tally stale;
+            synchronized (tallies) {
+                stale = tallies.replace(key, fresh);
+            }
+            if (stale != null && !Arrays.equals(stale.counts(now), fresh.counts(now))) {
+                drifted++;
+            }
+        }
+        log.info("Booking summary counters reconciled: {} reloaded, {} drifted, {} left for the next run",
+                reloaded, drifted, touched.size());
+    }
+
+    public int size() {
+        synchronized (tallies) {
+            return tallies.size();
+        }
+    }
+
+    private BookingSummaryDto summary(Key key) {
+        LocalDateTime now = LocalDateTime.now();
+        Tally tally = tracked(key);
+        if (tally == null) {
+            Tally fresh = load(key, now);
+            synchronized (tallies) {
+                tally = tallies.putIfAbsent(key, fresh);
+            }
+            if (tally == null) {
+                tally = fresh;
+                touched.add(key);
+            }
+        }
+        return toDto(tally.counts(now));
+    }
+
+    private Tally tracked(Key key) {
+        synchronized (tallies) {
+            return tallies.get(key);
+        }
+    }
+
+    private Tally load(Key key, LocalDateTime now) {
+        List<BookingStatusCount> statusCounts = key.owner()
+                ? bookingRepository.countByStatusForOwner(key.personId())
+                : bookingRepository.countByStatusForBooker(key.personId());
+        List<BookingPeriod> periods = key.owner()
+                ? bookingRepository.findPeriodsOfOwnerEndingFrom(key.personId(), now)
+                : bookingRepository.findPeriodsOfBookerEndingFrom(key.personId(), now);
+
+        Tally tally = new Tally();
+        long total = 0;
+        for (BookingStatusCount statusCount : statusCounts) {
+            tally.counts[statusCount.getStatus().ordinal()] = statusCount.getTotal();
+            total += statusCount.getTotal();
+        }
+        tally.counts[Status.ALL.ordinal()] = total;
+        for (BookingPeriod period : periods) {
+            tally.track(period.getStart(), period.getEnd(), now);
+        }
+        tally.counts[Status.PAST.ordinal()] += total - periods.size();
+        return tally;
+    }
+
+    private static BookingSummaryDto toDto(long[] counts) {
+        return BookingSummaryDto.builder()
+                .all(counts[Status.ALL.ordinal()])
+                .waiting(counts[Status.WAITING.ordinal()])
+                .approved(counts[Status.APPROVED.ordinal()])
+                .rejected(counts[Status.REJECTED.ordinal()])
+                .current(counts[Status.CURRENT.ordinal()])
+                .future(counts[Status.FUTURE.ordinal()])
+                .past(counts[Status.PAST.ordinal()])
+                .build();
+    }
+
+    private record Key(Long personId, boolean owner) {
+    }
+
+    private record Transition(LocalDateTime at, Status from, Status to) {
+        private static final Comparator<Transition> ORDER = Comparator.comparing(Transition::at)
+                .thenComparing(transition -> transition.to() == Status.PAST);
+
+        boolean isDue(LocalDateTime now) {
+            return to == Status.CURRENT ? !at.isAfter(now) : at.isBefore(now);
+        }
+    }
+
+    private static final class Tally {
+        private final long[] counts = new long[Status.values().length];
+        private final PriorityQueue<Transition> transitions = new PriorityQueue<>(Transition.ORDER);
+
+        synchronized void add(Status status, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+            counts[Status.ALL.ordinal()]++;
+            counts[status.ordinal()]++;
+            if (end.isBefore(now)) {
+                counts[Status.PAST.ordinal()]++;
+            } else {
+                track(start, end, now);
+            }
+        }
+
+        synchronized void move(Status from, Status to) {
+            counts[from.ordinal()]--;
+            counts[to.ordinal()]++;
+        }
+
+        synchronized long[] counts(LocalDateTime now) {
+            Transition next;
+            while ((next = transitions.peek()) != null && next.isDue(now)) {
+                transitions.poll();
+                move(next.from(), next.to());
+            }
+            return counts.clone();
+        }
+
+        private void track(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+            if (start.isAfter(now)) {
+                counts[Status.FUTURE.ordinal()]++;
+                transitions.add(new Transition(start, Status.FUTURE, Status.CURRENT));
+            } else {
+                counts[Status.CURRENT.ordinal()]++;
+            }
+            transitions.add(new Transition(end, Status.CURRENT, Status.PAST));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.server.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Streamed responses (full exports, item imports and streamed search) hold their task for as long as the client
+ * sends or reads, so they run on virtual threads instead of the shared {@code applicationTaskExecutor} pool.
+ */
+@Configuration
+public class AsyncConfig implements WebMvcConfigurer {
+
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(31);
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor()));
+        configurer.setDefaultTimeout(STREAM_TIMEOUT.toMillis());
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.server.export;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping(path = "/export")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String entity,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        log.info("Exporting {} as {}", entity, format);
+        ExportFormat exportFormat = ExportFormat.from(format);
+        StreamingResponseBody body = exportService.export(entity, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(entity + "." + exportFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.server.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import ru.practicum.server.exception.InvalidParamException;
+
+import java.nio.charset.StandardCharsets;
+
+import static ru.practicum.server.utils.GlobalConstants.INVALID_EXPORT_FORMAT;
+
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new InvalidParamException(INVALID_EXPORT_FORMAT, value);
+    }
+}
@@ -0,0 +1,163 @@
+package ru.practicum.server.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.server.booking.repository.BookingExportRow;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.exception.InvalidParamException;
+import ru.practicum.server.item.repository.ItemExportRow;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.repository.UserExportRow;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static ru.practicum.server.utils.GlobalConstants.INVALID_EXPORT_ENTITY;
+
+/**
+ * Full-table snapshots of users, items and bookings for offline analysis.
+ * <p>
+ * Rows are read as projections from a {@link Stream} backed by a database cursor with a fixed fetch size, inside a
+ * read-only transaction, and written out one at a time. Nothing is collected in between and no entity enters the
+ * persistence context, so an export runs in constant memory whatever the size of the table.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final Map<String, Export<?>> exports;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(UserRepository userRepository, ItemRepository itemRepository,
+                         BookingRepository bookingRepository, PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper) {
+        this.exports = Map.of(
+                "users", new Export<>(userRepository::streamAllForExport, List.of(
+                        new Column<UserExportRow>("id", UserExportRow::getId),
+                        new Column<UserExportRow>("name", UserExportRow::getName),
+                        new Column<UserExportRow>("email", UserExportRow::getEmail))),
+                "items", new Export<>(itemRepository::streamAllForExport, List.of(
+                        new Column<ItemExportRow>("id", ItemExportRow::getId),
+                        new Column<ItemExportRow>("name", ItemExportRow::getName),
+                        new Column<ItemExportRow>("description", ItemExportRow::getDescription),
+                        new Column<ItemExportRow>("available", ItemExportRow::getAvailable),
+                        new Column<ItemExportRow>("ownerId", ItemExportRow::getOwnerId),
+                        new Column<ItemExportRow>("requestId", ItemExportRow::getRequestId))),
+                "bookings", new Export<>(bookingRepository::streamAllForExport, List.of(
+                        new Column<BookingExportRow>("id", BookingExportRow::getId),
+                        new Column<BookingExportRow>("itemId", BookingExportRow::getItemId),
+                        new Column<BookingExportRow>("bookerId", BookingExportRow::getBookerId),
+                        new Column<BookingExportRow>("ownerId", BookingExportRow::getOwnerId),
+                        new Column<BookingExportRow>("start", BookingExportRow::getStart),
+                        new Column<BookingExportRow>("end", BookingExportRow::getEnd),
+                        new Column<BookingExportRow>("status", BookingExportRow::getStatus))));
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Resolves the export up front, so an unknown entity is reported before the response starts, and returns the
+     * body that streams it.
+     */
+    public StreamingResponseBody export(String entity, ExportFormat format) {
+        Export<?> export = exports.get(entity.toLowerCase(Locale.ROOT));
+        if (export == null) {
+            throw new InvalidParamException(INVALID_EXPORT_ENTITY, entity);
+        }
+        return out -> write(entity, export, format, out);
+    }
+
+    private <T> void write(String entity, Export<T> export, ExportFormat format, OutputStream target) {
+        long rows = readOnlyTransaction.execute(tx -> {
+            long written = 0;
+            try (Stream<T> stream = export.rows().get()) {
+                OutputStream out = new BufferedOutputStream(target, BUFFER_SIZE);
+                if (format == ExportFormat.CSV) {
+                    writeLine(out, export.columns().stream().map(Column::name).collect(Collectors.joining(",")));
+                }
+                for (Iterator<T> iterator = stream.iterator(); iterator.hasNext(); written++) {
+                    T row = iterator.next();
+                    if (format == ExportFormat.CSV) {
+                        writeLine(out, toCsv(export.columns(), row));
+                    } else {
+                        out.write(objectMapper.writeValueAsBytes(toJson(export.columns(), row)));
+                        out.write('\n');
+                    }
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return written;
+        });
+        log.info("Exported {} {} as {}", rows, entity, format);
+    }
+
+    private static <T> Map<String, Object> toJson(List<Column<T>> columns, T row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Column<T> column : columns) {
+            values.put(column.name(), column.value().apply(row));
+        }
+        return values;
+    }
+
+    private static <T> String toCsv(List<Column<T>> columns, T row) {
+        StringBuilder line = new StringBuilder();
+        for (Column<T> column : columns) {
+            if (!line.isEmpty()) {
+                line.append(',');
+            }
+            Object value = column.value().apply(row);
+            if (value instanceof LocalDateTime dateTime) {
+                line.append(CSV_DATE_FORMAT.format(dateTime));
+            } else if (value != null) {
+                appendCsvField(line, value.toString());
+            }
+        }
+        return line.toString();
+    }
+
+    private static void appendCsvField(StringBuilder line, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeLine(OutputStream out, String line) throws IOException {
+        out.write(line.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+    }
+
+    private record Export<T>(Supplier<Stream<T>> rows, List<Column<T>> columns) {
+    }
+
+    private record Column<T>(String name, Function<T, Object> value) {
+    }
+}
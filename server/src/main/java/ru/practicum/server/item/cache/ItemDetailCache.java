@@ -0,0 +1,59 @@
+package ru.practicum.server.item.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.event.ItemChangedEvent;
+import ru.practicum.server.utils.BoundedTtlCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.LongFunction;
+
+/**
+ * Bounded cache of item pages keyed by item id.
+ * <p>
+ * Entries expire {@code shareit.item-cache.ttl} after they were loaded, and the least recently read entry is
+ * evicted once {@code shareit.item-cache.max-size} is reached. An {@link ItemChangedEvent} drops the entry at once
+ * and, when published inside a transaction, again after it completes, so a page read before the commit is not kept.
+ * Metrics are published with {@code cache=items}.
+ */
+@Component
+public class ItemDetailCache {
+
+    public static final String NAME = "items";
+
+    private final BoundedTtlCache<ItemDto> cache;
+
+    @Autowired
+    public ItemDetailCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.item-cache.max-size:10000}") int maxSize,
+                           @Value("${shareit.item-cache.ttl:PT5M}") Duration ttl) {
+        this(meterRegistry, maxSize, ttl, Clock.systemUTC());
+    }
+
+    public ItemDetailCache(MeterRegistry meterRegistry, int maxSize, Duration ttl, Clock clock) {
+        long ttlMillis = ttl.toMillis();
+        this.cache = new BoundedTtlCache<>(NAME, meterRegistry, maxSize, item -> ttlMillis, clock);
+    }
+
+    public ItemDto get(long itemId, LongFunction<ItemDto> loader) {
+        return cache.get(itemId, loader);
+    }
+
+    public void invalidate(long itemId) {
+        cache.invalidate(itemId);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        cache.invalidateAfterCompletion(event.itemId());
+    }
+}
@@ -1,14 +1,29 @@
 package ru.practicum.server.item.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.server.item.dto.AvailabilityDto;
+import ru.practicum.server.utils.KeysetCursor;
 import ru.practicum.server.item.dto.CommentDto;
 import ru.practicum.server.utils.GlobalConstants;
 import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.dto.ItemImportResultDto;
 import ru.practicum.server.item.service.ItemService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Slf4j
@@ -18,6 +33,7 @@ import java.util.List;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<ItemDto> findAll(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
@@ -35,6 +51,17 @@ public class ItemController {
         return item;
     }
 
+    @GetMapping("/{itemId}/availability")
+    public AvailabilityDto getAvailability(@PathVariable Long itemId,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime from,
+                                           @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                           LocalDateTime to,
+                                           @RequestParam(defaultValue = "PT1H") Duration granularity) {
+        log.info("Fetching availability of item ID: {} from {} to {} by {}", itemId, from, to, granularity);
+        return itemService.getAvailability(itemId, from, to, granularity);
+    }
+
     @PostMapping
     public ItemDto create(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId, @RequestBody @Valid ItemDto itemDto) {
         log.info("Creating item for user ID: {} with item details: {}", userId, itemDto);
@@ -62,19 +89,79 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemDto> search(@RequestParam String text) {
-        log.info("Searching items with text: '{}'", text);
+    public List<ItemDto> search(@RequestParam String text,
+                                @RequestParam(defaultValue = "0") int from,
+                                @RequestParam(defaultValue = "10") int size) {
+        log.info("Searching items with text: '{}', from: {}, size: {}", text, from, size);
 
         if (text == null || text.trim().isEmpty()) {
             log.info("Search text is empty, returning an empty list.");
             return List.of();
         }
 
-        List<ItemDto> foundItems = itemService.search(text);
+        List<ItemDto> foundItems = itemService.search(text, from, size);
         log.info("Found {} items matching the search criteria", foundItems.size());
         return foundItems;
     }
 
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearch(@RequestParam String text) {
+        log.info("Streaming items with text: '{}'", text);
+        if (text == null || text.trim().isEmpty()) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(out -> { });
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> itemService.streamSearch(text, item -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(item));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam String prefix,
+                                @RequestParam(defaultValue = "10") int limit) {
+        log.info("Suggesting item names for prefix: '{}', limit: {}", prefix, limit);
+        return itemService.suggest(prefix, limit);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "10") int size) {
+        log.info("Fetching comments of item ID: {}, cursor: {}, size: {}", itemId, cursor, size);
+        List<CommentDto> comments = itemService.getComments(itemId, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        KeysetCursor.next(comments, size, CommentDto::getCreated, CommentDto::getId)
+                .ifPresent(next -> response.header(GlobalConstants.NEXT_CURSOR_HEADER, next));
+        return response.body(comments);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                                             InputStream body) {
+        log.info("Importing items for user ID: {}", userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> itemService.importItems(userId, new InputStreamReader(body, StandardCharsets.UTF_8),
+                        results -> {
+                            try {
+                                for (ItemImportResultDto result : results) {
+                                    out.write(objectMapper.writeValueAsBytes(result));
+                                    out.write('\n');
+                                }
+                                out.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }));
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto addComment(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
                                  @PathVariable Long itemId,
@@ -0,0 +1,36 @@
+package ru.practicum.server.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Outcome of one line of an item import. {@code line} is the 1-based line number in the uploaded stream and
+ * {@code status} the HTTP status the line would have produced on its own: 201 with the {@code id} of the created
+ * item, or an error status with the {@code error} text. Only the id is echoed so the result stream stays much smaller
+ * than the upload it answers.
+ */
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ItemImportResultDto {
+
+    Integer line;
+
+    Integer status;
+
+    Long id;
+
+    String error;
+}
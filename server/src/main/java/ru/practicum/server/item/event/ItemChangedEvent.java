@@ -0,0 +1,7 @@
+package ru.practicum.server.item.event;
+
+/**
+ * Published whenever something shown on the item page changes: its fields, its availability or its comments.
+ */
+public record ItemChangedEvent(long itemId) {
+}
@@ -6,12 +6,34 @@ import ru.practicum.server.item.dto.CommentDto;
 import ru.practicum.server.item.model.Comment;
 import ru.practicum.server.user.model.User;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class ItemMapper {
 
+    private static final DateTimeFormatter BOOKING_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     public static ItemDto toItemDto(Item item) {
+        ItemDto itemDto = toItemShortDto(item);
+        if (itemDto != null) {
+            itemDto.setComments(toCommentDtoList(item.getComments()));
+        }
+        return itemDto;
+    }
+
+    public static ItemDto toItemDto(Item item, List<Comment> comments) {
+        ItemDto itemDto = toItemShortDto(item);
+        if (itemDto != null) {
+            itemDto.setComments(toCommentDtoList(comments));
+        }
+        return itemDto;
+    }
+
+    public static ItemDto toItemShortDto(Item item) {
         if (item == null) {
             return null;
         }
@@ -24,12 +46,32 @@ public class ItemMapper {
                 .owner(item.getOwner() != null ? item.getOwner().getId() : null)
                 .request(item.getRequest() != null ? item.getRequest().getId() : null)
                 .requestId(item.getRequest() != null ? item.getRequest().getId() : null)
-                .lastBooking(item.getLastBooking() != null ? item.getLastBooking().toString() : null)
-                .nextBooking(item.getNextBooking() != null ? item.getNextBooking().toString() : null)
-                .comments(toCommentDtoList(item.getComments()))
+                .lastBooking(formatBookingDate(item.getLastBooking()))
+                .nextBooking(formatBookingDate(item.getNextBooking()))
                 .build();
     }
 
+    public static ItemDto toOwnerItemDto(Item item, LocalDateTime lastBooking, LocalDateTime nextBooking,
+                                         List<Comment> comments) {
+        ItemDto itemDto = toItemShortDto(item);
+        itemDto.setLastBooking(formatBookingDate(lastBooking));
+        itemDto.setNextBooking(formatBookingDate(nextBooking));
+        itemDto.setComments(toCommentDtoList(comments));
+        return itemDto;
+    }
+
+    /**
+     * Formats the last and next booking dates of an item the same way on every endpoint, as local date-time to the
+     * second without a zone.
+     */
+    public static String formatBookingDate(LocalDateTime date) {
+        return date != null ? BOOKING_DATE_FORMAT.format(date) : null;
+    }
+
+    public static String formatBookingDate(Instant date) {
+        return date != null ? formatBookingDate(LocalDateTime.ofInstant(date, ZoneId.systemDefault())) : null;
+    }
+
     public static Item toItem(ItemDto itemDto, User owner) {
         if (itemDto == null) {
             return null;
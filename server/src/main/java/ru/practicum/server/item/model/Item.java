@@ -32,7 +32,8 @@ import java.util.Objects;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     Long id;
 
     @Column(name = "name", nullable = false)
@@ -61,6 +62,10 @@ public class Item {
     @OneToMany(mappedBy = "item", fetch = FetchType.LAZY)
     List<Comment> comments;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
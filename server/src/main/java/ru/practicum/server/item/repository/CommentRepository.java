@@ -1,11 +1,41 @@
 package ru.practicum.server.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.server.item.model.Comment;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByItem_Id(Long itemId);
+
+    /**
+     * Loads the {@code limit} most recent comments of every item in {@code itemIds} together with their authors,
+     * newest first within each item.
+     */
+    @Query("""
+            select c from Comment c join fetch c.author
+            where c.id in (
+                select ranked.id from (
+                    select r.id as id,
+                           row_number() over (partition by r.item.id order by r.created desc, r.id desc) as position
+                    from Comment r
+                    where r.item.id in :itemIds
+                ) ranked
+                where ranked.position <= :limit)
+            order by c.item.id, c.created desc, c.id desc""")
+    List<Comment> findLatestWithAuthorByItemIdIn(Collection<Long> itemIds, int limit);
+
+    @Query("select c from Comment c join fetch c.author where c.item.id = :itemId order by c.created desc, c.id desc")
+    List<Comment> findPageWithAuthorByItemId(Long itemId, Pageable page);
+
+    @Query("""
+            select c from Comment c join fetch c.author
+            where c.item.id = :itemId and (c.created < :created or (c.created = :created and c.id < :id))
+            order by c.created desc, c.id desc""")
+    List<Comment> findPageWithAuthorByItemIdBefore(Long itemId, Instant created, Long id, Pageable page);
 }
@@ -0,0 +1,16 @@
+package ru.practicum.server.item.repository;
+
+public interface ItemExportRow {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+
+    Boolean getAvailable();
+
+    Long getOwnerId();
+
+    Long getRequestId();
+}
@@ -0,0 +1,10 @@
+package ru.practicum.server.item.repository;
+
+public interface ItemName {
+
+    Long getId();
+
+    String getName();
+
+    Boolean getAvailable();
+}
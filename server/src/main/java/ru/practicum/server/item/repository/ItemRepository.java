@@ -1,21 +1,75 @@
 package ru.practicum.server.item.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.server.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    @Query("select i from Item i " +
-            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "or upper(i.description) like upper(concat('%', ?1, '%'))) " +
-            "and i.available = true")
-    List<Item> search(String text);
+    /**
+     * Available items containing the text in their name or description, ignoring case. Name matches come first,
+     * then items where the text occurs more often (the removed length is proportional to the occurrence count).
+     */
+    String RANKED_SEARCH = "select i from Item i " +
+            "where (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%'))) " +
+            "and i.available = true " +
+            "order by case when upper(i.name) like upper(concat('%', :text, '%')) then 0 else 1 end, " +
+            "length(replace(upper(i.name), upper(:text), '')) + length(replace(upper(i.description), upper(:text), '')) " +
+            "- length(i.name) - length(i.description), " +
+            "i.id";
 
-    @Query("select i from Item i where i.owner.id = :userId")
+    @Query(RANKED_SEARCH)
+    List<Item> search(String text, Pageable page);
+
+    @Query(RANKED_SEARCH)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<Item> streamSearch(String text);
+
+    @Query("select i.id as id, i.name as name, i.description as description, i.available as available, " +
+            "i.owner.id as ownerId, i.request.id as requestId from Item i order by i.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ItemExportRow> streamAllForExport();
+
+    @EntityGraph(attributePaths = {"owner"})
+    @Query("select i from Item i where i.owner.id = :userId order by i.id")
     List<Item> getAllByUserId(@Param("userId") Long userId);
 
-    List<Item> findAllByRequestId(Long itemId);
+    @Query("select i from Item i where i.request.id in :requestIds order by i.id")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
+    @EntityGraph(attributePaths = {"owner"})
+    List<Item> findAllByIdIn(Collection<Long> ids);
+
+    @Query("select i from Item i where i.id in :ids and i.available = true order by i.id")
+    List<Item> findAvailableByIdIn(Collection<Long> ids);
+
+    @Query("select i.id as id, i.name as name, i.description as description from Item i " +
+            "where i.id > :afterId order by i.id")
+    List<ItemText> findTextsAfter(long afterId, Pageable page);
+
+    @Query("select i.id as id, i.name as name, i.description as description from Item i where i.id in :ids")
+    List<ItemText> findTextsByIdIn(Collection<Long> ids);
+
+    @Query("select i.id as id, i.name as name, i.available as available from Item i " +
+            "where i.id > :afterId and i.available = true order by i.id")
+    List<ItemName> findAvailableNamesAfter(long afterId, Pageable page);
+
+    @Query("select i.id as id, i.name as name, i.available as available from Item i where i.id in :ids")
+    List<ItemName> findNamesByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Item i set i.available = :available, i.version = i.version + 1 " +
+            "where i.id = :itemId and i.version = :version")
+    int updateAvailabilityIfVersion(long itemId, long version, boolean available);
 }
@@ -0,0 +1,10 @@
+package ru.practicum.server.item.repository;
+
+public interface ItemText {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
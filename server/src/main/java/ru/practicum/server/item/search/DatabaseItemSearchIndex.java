@@ -0,0 +1,37 @@
+package ru.practicum.server.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Searches with {@link ItemRepository#RANKED_SEARCH}. On PostgreSQL the {@code upper(name)} and
+ * {@code upper(description)} trigram GIN indexes from {@code schema-postgresql.sql} serve the {@code LIKE}
+ * patterns, so the query no longer scans the whole table.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseItemSearchIndex implements ItemSearchIndex {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        return itemRepository.search(text, page);
+    }
+
+    @Override
+    public void stream(String text, Consumer<Item> sink) {
+        try (Stream<Item> items = itemRepository.streamSearch(text)) {
+            items.forEach(sink);
+        }
+    }
+}
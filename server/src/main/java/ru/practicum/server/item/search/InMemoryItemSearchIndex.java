@@ -0,0 +1,394 @@
+package ru.practicum.server.item.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.repository.ItemText;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * In-process trigram index over item names and descriptions with the semantics of
+ * {@link ItemRepository#RANKED_SEARCH}: a case-insensitive substring match on either field, ranked the same way.
+ * <p>
+ * Every item is indexed under each distinct three-character sequence of its lower-cased text. A query of three or
+ * more characters intersects the sorted id lists of its own trigrams, starting from the shortest, and confirms the
+ * remaining candidates against the stored text; shorter queries scan the stored texts. Availability is not
+ * indexed: the ranked ids are loaded chunk by chunk with {@link ItemRepository#findAvailableByIdIn}, which also
+ * drops items the index has not seen leave the table, so a page only loads the chunks it reaches.
+ * <p>
+ * The index follows Hibernate inserts, updates and deletes of {@link Item}. Items written by a transaction that
+ * rolls back are reloaded from the database before the next search.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchIndex implements ItemSearchIndex {
+
+    static final int FETCH_CHUNK = 1_000;
+    static final int WARM_UP_PAGE = 10_000;
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final long[] NO_IDS = new long[0];
+
+    private final ItemRepository itemRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String> texts = new HashMap<>();
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private final Queue<Long> rolledBack = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        ItemWriteListener listener = new ItemWriteListener();
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long afterId = 0;
+        int loaded = 0;
+        List<ItemText> page;
+        do {
+            page = itemRepository.findTextsAfter(afterId, PageRequest.of(0, WARM_UP_PAGE));
+            for (ItemText text : page) {
+                put(text.getId(), text.getName(), text.getDescription());
+            }
+            if (!page.isEmpty()) {
+                afterId = page.getLast().getId();
+            }
+            loaded += page.size();
+        } while (page.size() == WARM_UP_PAGE);
+        log.info("Item search index warmed up with {} items", loaded);
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable page) {
+        List<Item> items = new ArrayList<>();
+        walk(text, page.getOffset(), page.getPageSize(), items::add);
+        return items;
+    }
+
+    @Override
+    public void stream(String text, Consumer<Item> sink) {
+        walk(text, 0, Long.MAX_VALUE, sink);
+    }
+
+    /**
+     * Returns the ids of the indexed items whose name or description contains the text, in ascending order.
+     */
+    public long[] matchingIds(String text) {
+        String query = normalize(text);
+        lock.readLock().lock();
+        try {
+            return matchingIdsLocked(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of {@link #matchingIds(String)} in ranking order.
+     */
+    public long[] rankedIds(String text) {
+        String query = normalize(text);
+        Ranked[] ranked;
+        lock.readLock().lock();
+        try {
+            long[] ids = matchingIdsLocked(query);
+            ranked = new Ranked[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                String indexed = texts.get(ids[i]);
+                int nameEnd = indexed.indexOf(FIELD_SEPARATOR);
+                int first = indexed.indexOf(query);
+                ranked[i] = new Ranked(ids[i], first + query.length() <= nameEnd, occurrences(indexed, query));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.sort(ranked, Ranked.ORDER);
+        return Arrays.stream(ranked).mapToLong(Ranked::id).toArray();
+    }
+
+    private void walk(String text, long skip, long limit, Consumer<Item> sink) {
+        reindexRolledBack();
+        long[] ids = rankedIds(text);
+        long skipped = 0;
+        long emitted = 0;
+        for (int from = 0; from < ids.length && emitted < limit; from += FETCH_CHUNK) {
+            int to = Math.min(ids.length, from + FETCH_CHUNK);
+            Map<Long, Item> available = itemRepository.findAvailableByIdIn(
+                            Arrays.stream(ids, from, to).boxed().toList()).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            for (int i = from; i < to && emitted < limit; i++) {
+                Item item = available.get(ids[i]);
+                if (item == null) {
+                    continue;
+                }
+                if (skipped < skip) {
+                    skipped++;
+                    continue;
+                }
+                sink.accept(item);
+                emitted++;
+            }
+        }
+    }
+
+    private long[] matchingIdsLocked(String query) {
+        if (query.length() < 3) {
+            return scan(query);
+        }
+        long[] grams = trigrams(query);
+        Posting[] lists = new Posting[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = postings.get(grams[i]);
+            if (lists[i] == null) {
+                return NO_IDS;
+            }
+        }
+        Arrays.sort(lists, Comparator.comparingInt(posting -> posting.size));
+
+        Posting shortest = lists[0];
+        long[] matches = new long[shortest.size];
+        int count = 0;
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            long id = shortest.ids[i];
+            for (int j = 1; j < lists.length; j++) {
+                if (!lists[j].contains(id)) {
+                    continue candidates;
+                }
+            }
+            if (texts.get(id).contains(query)) {
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    public void put(long itemId, String name, String description) {
+        String text = normalize(name) + FIELD_SEPARATOR + normalize(description);
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+            texts.put(itemId, text);
+            for (long gram : trigrams(text)) {
+                postings.computeIfAbsent(gram, g -> new Posting()).add(itemId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long itemId) {
+        String text = texts.remove(itemId);
+        if (text == null) {
+            return;
+        }
+        for (long gram : trigrams(text)) {
+            Posting posting = postings.get(gram);
+            if (posting != null && posting.remove(itemId) && posting.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private long[] scan(String query) {
+        return texts.entrySet().stream()
+                .filter(entry -> entry.getValue().contains(query))
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    private void reindexRolledBack() {
+        Set<Long> ids = new HashSet<>();
+        for (Long id = rolledBack.poll(); id != null; id = rolledBack.poll()) {
+            ids.add(id);
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        ids.forEach(this::remove);
+        for (ItemText text : itemRepository.findTextsByIdIn(ids)) {
+            put(text.getId(), text.getName(), text.getDescription());
+        }
+    }
+
+    private void reindexOnRollback(long itemId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    rolledBack.add(itemId);
+                }
+            }
+        });
+    }
+
+    private static int occurrences(String text, String query) {
+        if (query.isEmpty()) {
+            return 0;
+        }
+        int count = 0;
+        for (int at = text.indexOf(query); at >= 0; at = text.indexOf(query, at + query.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static long[] trigrams(String text) {
+        return IntStream.rangeClosed(0, text.length() - 3)
+                .mapToLong(i -> (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2))
+                .distinct()
+                .toArray();
+    }
+
+    private final class ItemWriteListener
+            implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Item item) {
+                put(item.getId(), item.getName(), item.getDescription());
+                reindexOnRollback(item.getId());
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Item item) {
+                put(item.getId(), item.getName(), item.getDescription());
+                reindexOnRollback(item.getId());
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Item item) {
+                remove(item.getId());
+                reindexOnRollback(item.getId());
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+
+    private record Ranked(long id, boolean inName, int occurrences) {
+        private static final Comparator<Ranked> ORDER = Comparator.comparing((Ranked ranked) -> !ranked.inName())
+                .thenComparing(Comparator.comparingInt(Ranked::occurrences).reversed())
+                .thenComparingLong(Ranked::id);
+    }
+
+    /**
+     * Sorted, growable list of item ids. Ids are usually appended in increasing order, so inserts rarely shift.
+     */
+    private static final class Posting {
+        private long[] ids = new long[2];
+        private int size;
+
+        void add(long id) {
+            int at = size;
+            if (size > 0 && ids[size - 1] >= id) {
+                at = Arrays.binarySearch(ids, 0, size, id);
+                if (at >= 0) {
+                    return;
+                }
+                at = -at - 1;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            ids[at] = id;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
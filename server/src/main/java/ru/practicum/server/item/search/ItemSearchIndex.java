@@ -0,0 +1,24 @@
+package ru.practicum.server.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.server.item.model.Item;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Finds available items whose name or description contains the text, ignoring case.
+ * <p>
+ * The engine is chosen with {@code shareit.search.engine}: {@code database} (the default) asks the database,
+ * {@code memory} answers from an in-process index. Both rank name matches before description matches, then by how
+ * often the text occurs, then by id.
+ */
+public interface ItemSearchIndex {
+
+    List<Item> search(String text, Pageable page);
+
+    /**
+     * Hands every match to the sink in ranking order while reading them. Must run inside a transaction.
+     */
+    void stream(String text, Consumer<Item> sink);
+}
@@ -0,0 +1,277 @@
+package ru.practicum.server.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.dto.ItemImportResultDto;
+import ru.practicum.server.item.event.ItemChangedEvent;
+import ru.practicum.server.item.mapper.ItemMapper;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.request.model.ItemRequest;
+import ru.practicum.server.request.repository.ItemRequestRepository;
+import ru.practicum.server.user.cache.UserCache;
+import ru.practicum.server.user.model.User;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ru.practicum.server.utils.GlobalConstants.IMPORT_LINE_FOREIGN_OWNER;
+import static ru.practicum.server.utils.GlobalConstants.IMPORT_LINE_MALFORMED;
+import static ru.practicum.server.utils.GlobalConstants.IMPORT_LINE_REJECTED;
+import static ru.practicum.server.utils.GlobalConstants.IMPORT_LINE_TOO_LONG;
+import static ru.practicum.server.utils.GlobalConstants.REQUEST_NOT_FOUND;
+import static ru.practicum.server.utils.GlobalConstants.USER_NOT_FOUND;
+
+/**
+ * Creates items from a newline-delimited JSON stream with one {@link ItemDto} per line.
+ * <p>
+ * Lines are read and checked one at a time and collected into batches of {@link #BATCH_SIZE}. Each batch resolves
+ * its requests with one query, is inserted in its own transaction through JDBC batching and is then flushed out of
+ * the persistence context, so memory use does not grow with the size of the upload. Every item is owned by the
+ * importing user, who is resolved once per import; a line naming a different {@code owner} is rejected. The results
+ * of a batch are handed to the sink as soon as it is stored, in line order.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+
+    public static final int BATCH_SIZE = 500;
+
+    public static final int MAX_LINE_LENGTH = 16_384;
+
+    private final ItemRepository itemRepository;
+    private final UserCache userCache;
+    private final ItemRequestRepository itemRequestRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public void importItems(Long userId, Reader input, Consumer<List<ItemImportResultDto>> sink) {
+        User owner = userCache.find(userId).orElse(null);
+        BoundedLineReader lines = new BoundedLineReader(new BufferedReader(input), MAX_LINE_LENGTH);
+        List<Line> batch = new ArrayList<>(BATCH_SIZE);
+        int number = 0;
+        int imported = 0;
+        try {
+            String text;
+            while ((text = lines.next()) != null) {
+                number++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                batch.add(parse(number, text, lines.isTruncated()));
+                if (batch.size() == BATCH_SIZE) {
+                    imported += store(userId, owner, batch, sink);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!batch.isEmpty()) {
+            imported += store(userId, owner, batch, sink);
+        }
+        log.info("Imported {} items from {} lines for user ID: {}", imported, number, userId);
+    }
+
+    private Line parse(int number, String text, boolean truncated) {
+        if (truncated) {
+            return Line.failed(number, 400, IMPORT_LINE_TOO_LONG + MAX_LINE_LENGTH);
+        }
+        ItemDto itemDto;
+        try {
+            itemDto = objectMapper.readValue(text, ItemDto.class);
+        } catch (JsonProcessingException e) {
+            return Line.failed(number, 400, IMPORT_LINE_MALFORMED + e.getOriginalMessage());
+        }
+        String violation = violation(itemDto);
+        if (violation != null) {
+            return Line.failed(number, 400, violation);
+        }
+        return new Line(number, itemDto, null);
+    }
+
+    /**
+     * Applies the constraints declared on {@link ItemDto}, which the server otherwise leaves to the gateway.
+     */
+    private static String violation(ItemDto itemDto) {
+        if (itemDto == null) {
+            return IMPORT_LINE_MALFORMED + "null";
+        }
+        if (itemDto.getName() == null || itemDto.getName().isBlank()) {
+            return "Item name cannot be blank";
+        }
+        if (itemDto.getDescription() == null || itemDto.getDescription().isBlank()) {
+            return "Item description cannot be blank";
+        }
+        if (itemDto.getAvailable() == null) {
+            return "Item availability status cannot be null";
+        }
+        return null;
+    }
+
+    private int store(Long userId, User owner, List<Line> batch, Consumer<List<ItemImportResultDto>> sink) {
+        Set<Long> requestIds = new HashSet<>();
+        for (Line line : batch) {
+            if (line.item() != null && line.item().getRequestId() != null) {
+                requestIds.add(line.item().getRequestId());
+            }
+        }
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() : itemRequestRepository
+                .findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        ItemImportResultDto[] results = new ItemImportResultDto[batch.size()];
+        List<Item> items = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Line line = batch.get(i);
+            if (line.failure() != null) {
+                results[i] = line.failure();
+                continue;
+            }
+            Long lineOwner = line.item().getOwner();
+            Long requestId = line.item().getRequestId();
+            if (lineOwner != null && !lineOwner.equals(userId)) {
+                results[i] = Line.failure(line.number(), 403, IMPORT_LINE_FOREIGN_OWNER + lineOwner);
+            } else if (owner == null) {
+                results[i] = Line.failure(line.number(), 404, USER_NOT_FOUND + userId);
+            } else if (requestId != null && !requests.containsKey(requestId)) {
+                results[i] = Line.failure(line.number(), 404, REQUEST_NOT_FOUND + requestId);
+            } else {
+                Item item = ItemMapper.toItem(line.item(), owner);
+                item.setId(null);
+                item.setRequest(requestId != null ? requests.get(requestId) : null);
+                items.add(item);
+                positions.add(i);
+            }
+        }
+
+        List<Item> saved = saveAll(items);
+        int imported = 0;
+        for (int i = 0; i < items.size(); i++) {
+            int position = positions.get(i);
+            int number = batch.get(position).number();
+            Item item = saved.get(i);
+            if (item == null) {
+                results[position] = Line.failure(number, 400, IMPORT_LINE_REJECTED + "line " + number);
+                continue;
+            }
+            eventPublisher.publishEvent(new ItemChangedEvent(item.getId()));
+            results[position] = ItemImportResultDto.builder()
+                    .line(number)
+                    .status(201)
+                    .id(item.getId())
+                    .build();
+            imported++;
+        }
+        batch.clear();
+        sink.accept(List.of(results));
+        return imported;
+    }
+
+    /**
+     * Inserts the items of a batch together; if the batch violates a constraint the items are retried one by one so
+     * that only the offending lines fail. Failed items are reported as {@code null}.
+     */
+    private List<Item> saveAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(tx -> {
+                List<Item> saved = itemRepository.saveAll(items);
+                entityManager.flush();
+                entityManager.clear();
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} imported items failed, falling back to single inserts", items.size());
+            List<Item> saved = new ArrayList<>();
+            for (Item item : items) {
+                item.setId(null);
+                try {
+                    saved.add(transactionTemplate.execute(tx -> itemRepository.saveAndFlush(item)));
+                } catch (DataIntegrityViolationException single) {
+                    saved.add(null);
+                }
+            }
+            return saved;
+        }
+    }
+
+    private record Line(int number, ItemDto item, ItemImportResultDto failure) {
+
+        static Line failed(int number, int status, String error) {
+            return new Line(number, null, failure(number, status, error));
+        }
+
+        static ItemImportResultDto failure(int number, int status, String error) {
+            return ItemImportResultDto.builder()
+                    .line(number)
+                    .status(status)
+                    .error(error)
+                    .build();
+        }
+    }
+
+    /**
+     * Reads lines like {@link BufferedReader#readLine()} but keeps at most {@code maxLength} characters of each, so a
+     * single oversized line cannot exhaust memory. The rest of such a line is skipped and the line is flagged.
+     */
+    private static final class BoundedLineReader {
+        private final Reader in;
+        private final int maxLength;
+        private final StringBuilder line = new StringBuilder();
+        private boolean truncated;
+
+        BoundedLineReader(Reader in, int maxLength) {
+            this.in = in;
+            this.maxLength = maxLength;
+        }
+
+        String next() throws IOException {
+            line.setLength(0);
+            truncated = false;
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            while (c != -1 && c != '\n') {
+                if (line.length() < maxLength) {
+                    line.append((char) c);
+                } else {
+                    truncated = true;
+                }
+                c = in.read();
+            }
+            if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+                line.setLength(line.length() - 1);
+            }
+            return line.toString();
+        }
+
+        boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
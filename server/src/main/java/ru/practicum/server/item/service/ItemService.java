@@ -1,9 +1,15 @@
 package ru.practicum.server.item.service;
 
+import ru.practicum.server.item.dto.AvailabilityDto;
 import ru.practicum.server.item.dto.CommentDto;
 import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.dto.ItemImportResultDto;
 
+import java.io.Reader;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemService {
     List<ItemDto> findAll(Long userId);
@@ -16,10 +22,18 @@ public interface ItemService {
 
     Boolean delete(Long itemId);
 
-    List<ItemDto> search(String text);
+    List<ItemDto> search(String text, int from, int size);
+
+    void streamSearch(String text, Consumer<ItemDto> sink);
+
+    void importItems(Long userId, Reader input, Consumer<List<ItemImportResultDto>> sink);
+
+    List<String> suggest(String prefix, int limit);
 
     CommentDto addComment(Long itemId, Long userId, CommentDto commentDto);
 
-    List<CommentDto> getComments(Long itemId);
+    List<CommentDto> getComments(Long itemId, String cursor, int size);
+
+    AvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to, Duration granularity);
 }
 
@@ -1,57 +1,122 @@
 package ru.practicum.server.item.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.index.BookingIntervalIndex;
+import ru.practicum.server.booking.index.CompletedStays;
+import ru.practicum.server.booking.repository.ItemBookingDates;
 import ru.practicum.server.booking.repository.BookingRepository;
 import ru.practicum.server.exception.InvalidParamException;
 import ru.practicum.server.exception.NotFoundException;
+import ru.practicum.server.item.cache.ItemDetailCache;
+import ru.practicum.server.item.dto.AvailabilityDto;
+import ru.practicum.server.item.dto.AvailabilitySlotDto;
+import ru.practicum.server.utils.KeysetCursor;
 import ru.practicum.server.item.dto.CommentDto;
 import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.dto.ItemImportResultDto;
+import ru.practicum.server.item.event.ItemChangedEvent;
 import ru.practicum.server.item.mapper.CommentMapper;
 import ru.practicum.server.item.mapper.ItemMapper;
 import ru.practicum.server.item.model.Comment;
 import ru.practicum.server.item.model.Item;
 import ru.practicum.server.item.repository.CommentRepository;
 import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.ItemSearchIndex;
+import ru.practicum.server.item.suggest.ItemNameSuggester;
 import ru.practicum.server.request.model.ItemRequest;
 import ru.practicum.server.request.repository.ItemRequestRepository;
 import ru.practicum.server.user.model.User;
-import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.user.cache.UserCache;
+import ru.practicum.server.utils.OffsetPageRequest;
 
+import static ru.practicum.server.utils.GlobalConstants.INVALID_AVAILABILITY_RANGE;
+import static ru.practicum.server.utils.GlobalConstants.INVALID_PAGINATION;
 import static ru.practicum.server.utils.GlobalConstants.ITEM_NOT_FOUND;
 import static ru.practicum.server.utils.GlobalConstants.REQUEST_NOT_FOUND;
 import static ru.practicum.server.utils.GlobalConstants.USER_NOT_BOOKED_ITEM;
 import static ru.practicum.server.utils.GlobalConstants.USER_NOT_FOUND;
 
 
+import java.io.Reader;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
 
+    static final long MAX_AVAILABILITY_SLOTS = 10_000;
+
+    /**
+     * Most recent comments inlined into an item; the full history is paged through {@link #getComments}.
+     */
+    public static final int INLINE_COMMENTS = 10;
+
+    static final int STREAM_CHUNK = 100;
+
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final CompletedStays completedStays;
+    private final ItemSearchIndex itemSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ItemDetailCache itemDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ItemImporter itemImporter;
+    private final ItemNameSuggester itemNameSuggester;
 
     public List<ItemDto> findAll(Long userId) {
         List<Item> items = itemRepository.getAllByUserId(userId);
-        return ItemMapper.toItemDtoList(items);
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemBookingDates> bookingDates = bookingRepository
+                .findBookingDatesOfOwner(userId, Status.APPROVED, LocalDateTime.now()).stream()
+                .collect(Collectors.toMap(ItemBookingDates::getItemId, Function.identity()));
+        Map<Long, List<Comment>> comments = inlineComments(items);
+
+        return items.stream()
+                .map(item -> {
+                    ItemBookingDates dates = bookingDates.get(item.getId());
+                    return ItemMapper.toOwnerItemDto(item,
+                            dates != null ? dates.getLastBooking() : null,
+                            dates != null ? dates.getNextBooking() : null,
+                            comments.getOrDefault(item.getId(), List.of()));
+                })
+                .toList();
     }
 
     public ItemDto get(Long itemId) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND));
-        return ItemMapper.toItemDto(item);
+        return itemDetailCache.get(itemId, id -> {
+            Item item = itemRepository.findById(id)
+                    .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND));
+            return ItemMapper.toItemDto(item,
+                    commentRepository.findPageWithAuthorByItemId(id, PageRequest.of(0, INLINE_COMMENTS)));
+        });
     }
 
     public ItemDto create(Long userId, ItemDto itemDto) {
-        User owner = userRepository.findById(userId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
+        User owner = userCache.find(userId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
 
         Item item = ItemMapper.toItem(itemDto, owner);
 
@@ -61,8 +126,8 @@ public class ItemServiceImpl implements ItemService {
             item.setRequest(itemRequest);
         }
         Item createdItem = itemRepository.save(item);
-
-        return ItemMapper.toItemDto(createdItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(createdItem.getId()));
+        return ItemMapper.toItemDto(createdItem, List.of());
     }
 
     public ItemDto update(Long userId, Long itemId, ItemDto itemDto) {
@@ -76,7 +141,9 @@ public class ItemServiceImpl implements ItemService {
         ItemMapper.itemPatch(existingItem, itemDto);
 
         Item updatedItem = itemRepository.save(existingItem);
-        return ItemMapper.toItemDto(updatedItem);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
+        return ItemMapper.toItemDto(updatedItem,
+                commentRepository.findPageWithAuthorByItemId(itemId, PageRequest.of(0, INLINE_COMMENTS)));
     }
 
     public Boolean delete(Long itemId) {
@@ -84,36 +151,150 @@ public class ItemServiceImpl implements ItemService {
             throw new NotFoundException(ITEM_NOT_FOUND);
         }
         itemRepository.deleteById(itemId);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         return true;
     }
 
-    public List<ItemDto> search(String text) {
-        List<Item> items = itemRepository.search(text);
-        return ItemMapper.toItemDtoList(items);
+    public List<ItemDto> search(String text, int from, int size) {
+        List<Item> items = itemSearchIndex.search(text, OffsetPageRequest.of(from, size));
+        return toItemDtos(items);
+    }
+
+    public void streamSearch(String text, Consumer<ItemDto> sink) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Item> chunk = new ArrayList<>(STREAM_CHUNK);
+            itemSearchIndex.stream(text, item -> {
+                chunk.add(item);
+                if (chunk.size() == STREAM_CHUNK) {
+                    flush(chunk, sink);
+                }
+            });
+            flush(chunk, sink);
+        });
+    }
+
+    public void importItems(Long userId, Reader input, Consumer<List<ItemImportResultDto>> sink) {
+        itemImporter.importItems(userId, input, sink);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (limit <= 0 || limit > ItemNameSuggester.MAX_SUGGESTIONS) {
+            throw new InvalidParamException(INVALID_PAGINATION, "limit=" + limit);
+        }
+        return itemNameSuggester.suggest(prefix, limit);
     }
 
     public CommentDto addComment(Long itemId, Long userId, CommentDto commentDto) {
 
-        User user = userRepository.findById(userId)
+        User user = userCache.find(userId)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(ITEM_NOT_FOUND));
 
-        bookingRepository.findByItemIdAndUserIdAndEndBookingBefore(itemId, userId, LocalDateTime.now())
-                .orElseThrow(() -> new InvalidParamException(USER_NOT_BOOKED_ITEM, userId.toString()));
+        if (!completedStays.hasCompletedStay(userId, itemId)) {
+            throw new InvalidParamException(USER_NOT_BOOKED_ITEM, userId.toString());
+        }
 
         Comment comment = CommentMapper.toComment(commentDto);
         comment.setItem(item);
         comment.setAuthor(user);
-        comment.setCreated(Instant.now());
+        comment.setCreated(Instant.now().truncatedTo(ChronoUnit.MICROS));
 
         Comment savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new ItemChangedEvent(itemId));
         return CommentMapper.toCommentDto(savedComment);
     }
 
-    public List<CommentDto> getComments(Long itemId) {
-        List<Comment> comments = commentRepository.findByItem_Id(itemId);
-        return CommentMapper.toCommentDtoList(comments);
+    public List<CommentDto> getComments(Long itemId, String cursor, int size) {
+        if (size <= 0) {
+            throw new InvalidParamException(INVALID_PAGINATION, "size=" + size);
+        }
+        KeysetCursor<Instant> position = KeysetCursor.decode(cursor, Instant::parse);
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(ITEM_NOT_FOUND);
+        }
+        PageRequest page = PageRequest.of(0, size);
+        List<Comment> comments = position.isFirst()
+                ? commentRepository.findPageWithAuthorByItemId(itemId, page)
+                : commentRepository.findPageWithAuthorByItemIdBefore(itemId, position.getPosition(),
+                position.getId(), page);
+        return ItemMapper.toCommentDtoList(comments);
+    }
+
+    private List<ItemDto> toItemDtos(List<Item> items) {
+        return toItemDtos(items, inlineComments(items));
+    }
+
+    private static List<ItemDto> toItemDtos(List<Item> items, Map<Long, List<Comment>> comments) {
+        return items.stream()
+                .map(item -> ItemMapper.toItemDto(item, comments.getOrDefault(item.getId(), List.of())))
+                .toList();
+    }
+
+    private void flush(List<Item> chunk, Consumer<ItemDto> sink) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Long, List<Comment>> comments = inlineComments(chunk);
+        toItemDtos(chunk, comments).forEach(sink);
+        chunk.forEach(entityManager::detach);
+        comments.values().forEach(itemComments -> itemComments.forEach(entityManager::detach));
+        chunk.clear();
+    }
+
+    private Map<Long, List<Comment>> inlineComments(List<Item> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        return commentRepository
+                .findLatestWithAuthorByItemIdIn(items.stream().map(Item::getId).toList(), INLINE_COMMENTS).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+    }
+
+    /**
+     * Builds the free and busy slots of the item from the interval index. The index only holds periods that have not
+     * finished yet, so a range that ends in the past is rejected rather than reported as free.
+     */
+    public AvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to, Duration granularity) {
+        if (!from.isBefore(to) || !to.isAfter(LocalDateTime.now()) || granularity.isNegative() || granularity.isZero()
+                || Duration.between(from, to).dividedBy(granularity) >= MAX_AVAILABILITY_SLOTS) {
+            throw new InvalidParamException(INVALID_AVAILABILITY_RANGE,
+                    "from=" + from + ", to=" + to + ", granularity=" + granularity);
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(ITEM_NOT_FOUND + itemId);
+        }
+
+        Iterator<Map.Entry<LocalDateTime, LocalDateTime>> periods =
+                bookingIntervalIndex.busyPeriods(itemId, from, to).entrySet().iterator();
+        Map.Entry<LocalDateTime, LocalDateTime> period = periods.hasNext() ? periods.next() : null;
+        List<AvailabilitySlotDto> slots = new ArrayList<>();
+        for (LocalDateTime slotStart = from; slotStart.isBefore(to); ) {
+            LocalDateTime slotEnd = slotStart.plus(granularity);
+            if (slotEnd.isAfter(to)) {
+                slotEnd = to;
+            }
+            while (period != null && !period.getValue().isAfter(slotStart)) {
+                period = periods.hasNext() ? periods.next() : null;
+            }
+            boolean free = period == null || !period.getKey().isBefore(slotEnd);
+
+            AvailabilitySlotDto last = slots.isEmpty() ? null : slots.getLast();
+            if (last != null && last.isFree() == free) {
+                last.setEnd(slotEnd);
+            } else {
+                slots.add(new AvailabilitySlotDto(slotStart, slotEnd, free));
+            }
+            slotStart = slotEnd;
+        }
+
+        return AvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .granularity(granularity.toString())
+                .slots(slots)
+                .build();
     }
 }
@@ -0,0 +1,423 @@
+package ru.practicum.server.item.suggest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.server.item.event.ItemChangedEvent;
+import ru.practicum.server.item.repository.ItemName;
+import ru.practicum.server.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Autocomplete over the names of available items, answered from an in-memory radix trie.
+ * <p>
+ * Every distinct name is stored under its whole lower-cased text and under the rest of the text from each later
+ * word on, so "dr" suggests "Cordless Drill" too. Chains of single-child nodes are collapsed into one edge, and every
+ * node keeps the {@link #MAX_SUGGESTIONS} most common names below it, so a lookup walks at most the length of the
+ * prefix and copies a precomputed list. When a name gains or loses an item, only the nodes on the paths of its keys
+ * are recomputed. Memory is bounded by {@link #MAX_NAMES} distinct names; names beyond it are not suggested.
+ * <p>
+ * The trie follows {@link ItemChangedEvent}s: changed items are reloaded in chunks of {@link #FETCH_CHUNK} before the
+ * next lookup, and again once the changing transaction has completed, so a lookup racing the commit cannot keep a
+ * stale name. Ids whose reload fails stay queued for the next lookup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    public static final int FETCH_CHUNK = 1_000;
+    static final int MAX_NAMES = 200_000;
+    static final int WARM_UP_PAGE = 10_000;
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Name[] NO_NAMES = new Name[0];
+    private static final Comparator<Name> RANK = Comparator.comparingInt((Name name) -> name.count).reversed()
+            .thenComparing(name -> name.canonical);
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Name> namesByItem = new HashMap<>();
+    private final Map<String, Name> names = new HashMap<>();
+    private final Node root = new Node("");
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long afterId = 0;
+        int loaded = 0;
+        List<ItemName> page;
+        do {
+            page = itemRepository.findAvailableNamesAfter(afterId, PageRequest.of(0, WARM_UP_PAGE));
+            lock.writeLock().lock();
+            try {
+                for (ItemName item : page) {
+                    link(item.getId(), item.getName());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                afterId = page.getLast().getId();
+            }
+            loaded += page.size();
+        } while (page.size() == WARM_UP_PAGE);
+        log.info("Item name suggester warmed up with {} items and {} distinct names", loaded, names.size());
+    }
+
+    @EventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        changed.add(event.itemId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    changed.add(event.itemId());
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} names of available items with a word starting with {@code prefix}, most common
+     * first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        applyChanges();
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            return Arrays.stream(node.top)
+                    .limit(limit)
+                    .map(name -> name.display)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyChanges() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changed);
+        changed.removeAll(ids);
+        for (int from = 0; from < ids.size(); from += FETCH_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + FETCH_CHUNK));
+            Map<Long, ItemName> current;
+            try {
+                current = itemRepository.findNamesByIdIn(chunk).stream()
+                        .collect(Collectors.toMap(ItemName::getId, Function.identity()));
+            } catch (RuntimeException e) {
+                changed.addAll(ids.subList(from, ids.size()));
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                for (Long id : chunk) {
+                    unlink(id);
+                    ItemName item = current.get(id);
+                    if (item != null && Boolean.TRUE.equals(item.getAvailable())) {
+                        link(id, item.getName());
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void link(long itemId, String rawName) {
+        String canonical = normalize(rawName);
+        if (canonical.isEmpty()) {
+            return;
+        }
+        Name name = names.get(canonical);
+        boolean added = name == null;
+        if (added) {
+            if (names.size() >= MAX_NAMES) {
+                return;
+            }
+            name = new Name(canonical, rawName.trim());
+            names.put(canonical, name);
+        }
+        name.count++;
+        namesByItem.put(itemId, name);
+        for (String key : keysOf(canonical)) {
+            if (added) {
+                insert(key, name);
+            } else {
+                refresh(key);
+            }
+        }
+    }
+
+    private void unlink(long itemId) {
+        Name name = namesByItem.remove(itemId);
+        if (name == null) {
+            return;
+        }
+        name.count--;
+        boolean removed = name.count == 0;
+        if (removed) {
+            names.remove(name.canonical);
+        }
+        for (String key : keysOf(name.canonical)) {
+            if (removed) {
+                delete(key, name);
+            } else {
+                refresh(key);
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = childFor(node, key.charAt(position));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.edge, key, position);
+            if (position + common == key.length()) {
+                return child;
+            }
+            if (common < child.edge.length()) {
+                return null;
+            }
+            node = child;
+            position += common;
+        }
+        return node;
+    }
+
+    private void insert(String key, Name name) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        while (true) {
+            path.add(node);
+            if (position == key.length()) {
+                if (node.terminals == null) {
+                    node.terminals = new ArrayList<>(1);
+                }
+                node.terminals.add(name);
+                break;
+            }
+            Node child = childFor(node, key.charAt(position));
+            if (child == null) {
+                Node leaf = new Node(key.substring(position));
+                leaf.terminals = new ArrayList<>(1);
+                leaf.terminals.add(name);
+                addChild(node, leaf);
+                path.add(leaf);
+                break;
+            }
+            int common = commonPrefix(child.edge, key, position);
+            if (common < child.edge.length()) {
+                Node split = new Node(child.edge.substring(0, common));
+                replaceChild(node, split);
+                child.edge = child.edge.substring(common);
+                split.children = new Node[]{child};
+                child = split;
+            }
+            node = child;
+            position += common;
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            rank(path.get(i));
+        }
+    }
+
+    private void delete(String key, Name name) {
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node last = path.getLast();
+        if (last.terminals != null) {
+            last.terminals.remove(name);
+            if (last.terminals.isEmpty()) {
+                last.terminals = null;
+            }
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (i > 0 && node.terminals == null && node.children.length <= 1) {
+                Node parent = path.get(i - 1);
+                if (node.children.length == 0) {
+                    removeChild(parent, node);
+                } else {
+                    Node only = node.children[0];
+                    only.edge = node.edge + only.edge;
+                    replaceChild(parent, only);
+                }
+                continue;
+            }
+            rank(node);
+        }
+    }
+
+    private void refresh(String key) {
+        List<Node> path = path(key);
+        if (path != null) {
+            for (int i = path.size() - 1; i >= 0; i--) {
+                rank(path.get(i));
+            }
+        }
+    }
+
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int position = 0;
+        path.add(node);
+        while (position < key.length()) {
+            Node child = childFor(node, key.charAt(position));
+            if (child == null || !key.startsWith(child.edge, position)) {
+                return null;
+            }
+            node = child;
+            position += child.edge.length();
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * Recomputes the best names below the node from its own names and the best names of its children.
+     */
+    private static void rank(Node node) {
+        Set<Name> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        if (node.terminals != null) {
+            candidates.addAll(node.terminals);
+        }
+        for (Node child : node.children) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        node.top = candidates.stream()
+                .sorted(RANK)
+                .limit(MAX_SUGGESTIONS)
+                .toArray(Name[]::new);
+    }
+
+    private static Node childFor(Node node, char first) {
+        int index = indexOf(node.children, first);
+        return index >= 0 ? node.children[index] : null;
+    }
+
+    private static int indexOf(Node[] children, char first) {
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char candidate = children[middle].edge.charAt(0);
+            if (candidate < first) {
+                low = middle + 1;
+            } else if (candidate > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static void addChild(Node parent, Node child) {
+        int insertion = -(indexOf(parent.children, child.edge.charAt(0)) + 1);
+        Node[] children = new Node[parent.children.length + 1];
+        System.arraycopy(parent.children, 0, children, 0, insertion);
+        children[insertion] = child;
+        System.arraycopy(parent.children, insertion, children, insertion + 1, parent.children.length - insertion);
+        parent.children = children;
+    }
+
+    private static void replaceChild(Node parent, Node replacement) {
+        parent.children[indexOf(parent.children, replacement.edge.charAt(0))] = replacement;
+    }
+
+    private static void removeChild(Node parent, Node child) {
+        int index = indexOf(parent.children, child.edge.charAt(0));
+        Node[] children = new Node[parent.children.length - 1];
+        System.arraycopy(parent.children, 0, children, 0, index);
+        System.arraycopy(parent.children, index + 1, children, index, children.length - index);
+        parent.children = children.length == 0 ? NO_CHILDREN : children;
+    }
+
+    private static int commonPrefix(String edge, String key, int from) {
+        int length = Math.min(edge.length(), key.length() - from);
+        int common = 0;
+        while (common < length && edge.charAt(common) == key.charAt(from + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static Set<String> keysOf(String canonical) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(canonical);
+        for (int i = 1; i < canonical.length(); i++) {
+            if (canonical.charAt(i - 1) == ' ') {
+                keys.add(canonical.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Name {
+        private final String canonical;
+        private final String display;
+        private int count;
+
+        private Name(String canonical, String display) {
+            this.canonical = canonical;
+            this.display = display;
+        }
+    }
+
+    private static final class Node {
+        private String edge;
+        private Node[] children = NO_CHILDREN;
+        private List<Name> terminals;
+        private Name[] top = NO_NAMES;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+}
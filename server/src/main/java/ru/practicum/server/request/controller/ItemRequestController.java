@@ -8,7 +8,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.server.item.dto.ItemDto;
 import ru.practicum.server.request.dto.ItemRequestDto;
 import ru.practicum.server.request.service.ItemRequestService;
 import ru.practicum.server.utils.GlobalConstants;
@@ -30,16 +32,21 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestDto> getAllByUser(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
-        log.info("Received request to retrieve the list of requests from user with id {}", userId);
-        return itemRequestService.getAllByUser(userId);
+    public List<ItemRequestDto> getAllByUser(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                             @RequestParam(defaultValue = "0") int from,
+                                             @RequestParam(defaultValue = "10") int size) {
+        log.info("Received request to retrieve the list of requests from user with id {}, from: {}, size: {}",
+                userId, from, size);
+        return itemRequestService.getAllByUser(userId, from, size);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAll(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId) {
-        log.info("Received request to retrieve the list of requests from user with id {} created by other users",
-                userId);
-        return itemRequestService.getAll(userId);
+    public List<ItemRequestDto> getAll(@RequestHeader(GlobalConstants.USERID_HEADER) Long userId,
+                                       @RequestParam(defaultValue = "0") int from,
+                                       @RequestParam(defaultValue = "10") int size) {
+        log.info("Received request to retrieve the list of requests from user with id {} created by other users, " +
+                "from: {}, size: {}", userId, from, size);
+        return itemRequestService.getAll(userId, from, size);
     }
 
     @GetMapping("/{requestId}")
@@ -47,4 +54,10 @@ public class ItemRequestController {
         log.info("Received request to retrieve request by id");
         return itemRequestService.getById(requestId);
     }
+
+    @GetMapping("/{requestId}/suggestions")
+    public List<ItemDto> getSuggestions(@PathVariable Long requestId) {
+        log.info("Received request to retrieve suggested items for request with id {}", requestId);
+        return itemRequestService.getSuggestions(requestId);
+    }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.server.request.event;
+
+/**
+ * Published by the request service once a new item request has been stored.
+ */
+public record ItemRequestCreatedEvent(long requestId, long requestorId, String description) {
+}
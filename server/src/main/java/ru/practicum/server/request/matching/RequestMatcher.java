@@ -0,0 +1,165 @@
+package ru.practicum.server.request.matching;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.ItemSearchIndex;
+import ru.practicum.server.request.event.ItemRequestCreatedEvent;
+import ru.practicum.server.request.model.RequestSuggestion;
+import ru.practicum.server.request.repository.ItemRequestRepository;
+import ru.practicum.server.request.repository.RequestSuggestionRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Suggests existing items for a new request, so owners do not have to poll the request feed.
+ * <p>
+ * Once a request is committed, its description is split into words and every word is looked up through the
+ * {@link ItemSearchIndex}. Available items of other users are scored by how many words they matched, and the best
+ * {@link #MAX_SUGGESTIONS} are stored as {@link RequestSuggestion}s. Matching runs on a small pool of
+ * {@code shareit.request-matching.threads} threads behind a queue of {@code shareit.request-matching.queue-capacity}
+ * requests; the request itself never waits for it. When the queue is full the request is left without suggestions
+ * rather than slowing down request creation.
+ */
+@Slf4j
+@Component
+public class RequestMatcher {
+
+    public static final int MAX_SUGGESTIONS = 10;
+    static final int MAX_WORDS = 10;
+    static final int MIN_WORD_LENGTH = 3;
+    static final int CANDIDATES_PER_WORD = 50;
+
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final RequestSuggestionRepository requestSuggestionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public RequestMatcher(ItemSearchIndex itemSearchIndex,
+                          ItemRepository itemRepository,
+                          ItemRequestRepository itemRequestRepository,
+                          RequestSuggestionRepository requestSuggestionRepository,
+                          TransactionTemplate transactionTemplate,
+                          @Value("${shareit.request-matching.threads:2}") int threads,
+                          @Value("${shareit.request-matching.queue-capacity:1000}") int queueCapacity) {
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.requestSuggestionRepository = requestSuggestionRepository;
+        this.transactionTemplate = transactionTemplate;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "request-matcher-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, pool) -> log.warn("Request matching queue is full, skipping a request"));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestCreated(ItemRequestCreatedEvent event) {
+        executor.execute(() -> {
+            try {
+                match(event);
+            } catch (RuntimeException e) {
+                log.warn("Matching request {} failed", event.requestId(), e);
+            }
+        });
+    }
+
+    /**
+     * Finds and stores the suggestions for a request in the calling thread; returns how many were stored.
+     */
+    public int match(ItemRequestCreatedEvent event) {
+        Set<String> words = words(event.description());
+        if (words.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Candidate> candidates = new HashMap<>();
+        for (String word : words) {
+            for (Item item : itemSearchIndex.search(word, PageRequest.of(0, CANDIDATES_PER_WORD))) {
+                if (item.getOwner() != null && item.getOwner().getId().equals(event.requestorId())) {
+                    continue;
+                }
+                candidates.computeIfAbsent(item.getId(), Candidate::new).score++;
+            }
+        }
+        List<Candidate> best = candidates.values().stream()
+                .sorted(Comparator.comparingInt((Candidate candidate) -> candidate.score).reversed()
+                        .thenComparingLong(candidate -> candidate.itemId))
+                .limit(MAX_SUGGESTIONS)
+                .toList();
+        if (best.isEmpty()) {
+            return 0;
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<RequestSuggestion> suggestions = new ArrayList<>(best.size());
+            for (Candidate candidate : best) {
+                suggestions.add(RequestSuggestion.builder()
+                        .request(itemRequestRepository.getReferenceById(event.requestId()))
+                        .item(itemRepository.getReferenceById(candidate.itemId))
+                        .score(candidate.score)
+                        .build());
+            }
+            requestSuggestionRepository.saveAll(suggestions);
+        });
+        log.info("Stored {} suggestions for request ID: {}", best.size(), event.requestId());
+        return best.size();
+    }
+
+    /**
+     * Lower-cased distinct words of at least {@link #MIN_WORD_LENGTH} letters or digits, in order of appearance.
+     */
+    private static Set<String> words(String description) {
+        Set<String> words = new LinkedHashSet<>();
+        if (description == null) {
+            return words;
+        }
+        for (String word : description.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= MIN_WORD_LENGTH) {
+                words.add(word);
+                if (words.size() == MAX_WORDS) {
+                    break;
+                }
+            }
+        }
+        return words;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class Candidate {
+        private final long itemId;
+        private int score;
+
+        private Candidate(long itemId) {
+            this.itemId = itemId;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.server.request.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.server.item.model.Item;
+
+/**
+ * An existing item that matched the description of a request, found by the matcher right after the request was
+ * posted. Higher scores matched more words of the description.
+ */
+@Entity
+@Table(name = "request_suggestions")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@EqualsAndHashCode(of = "id")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class RequestSuggestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "request_id", nullable = false)
+    @ToString.Exclude
+    ItemRequest request;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    @ToString.Exclude
+    Item item;
+
+    @Column(name = "score", nullable = false)
+    int score;
+}
@@ -1,10 +1,18 @@
 package ru.practicum.server.request.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.server.request.model.ItemRequest;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequestorIdOrderByCreatedAsc(Long userId);
-}
\ No newline at end of file
+
+    @Query("select r from ItemRequest r where r.requestor.id = :userId order by r.created, r.id")
+    List<ItemRequest> findPageByRequestorId(Long userId, Pageable page);
+
+    @Query("select r from ItemRequest r where r.requestor.id <> :userId order by r.created desc, r.id desc")
+    List<ItemRequest> findPageOfOthers(Long userId, Pageable page);
+}
@@ -0,0 +1,15 @@
+package ru.practicum.server.request.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.request.model.RequestSuggestion;
+
+import java.util.List;
+
+public interface RequestSuggestionRepository extends JpaRepository<RequestSuggestion, Long> {
+
+    @Query("select s.item from RequestSuggestion s where s.request.id = :requestId and s.item.available = true " +
+            "order by s.score desc, s.item.id")
+    List<Item> findAvailableItemsByRequestId(Long requestId);
+}
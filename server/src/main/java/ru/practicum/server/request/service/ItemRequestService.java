@@ -1,5 +1,6 @@
 package ru.practicum.server.request.service;
 
+import ru.practicum.server.item.dto.ItemDto;
 import ru.practicum.server.request.dto.ItemRequestDto;
 
 import java.util.List;
@@ -7,9 +8,11 @@ import java.util.List;
 public interface ItemRequestService {
     ItemRequestDto create(Long userId, ItemRequestDto itemRequestDto);
 
-    List<ItemRequestDto> getAllByUser(Long userId);
+    List<ItemRequestDto> getAllByUser(Long userId, int from, int size);
 
-    List<ItemRequestDto> getAll(Long userId);
+    List<ItemRequestDto> getAll(Long userId, int from, int size);
 
     ItemRequestDto getById(Long requestId);
+
+    List<ItemDto> getSuggestions(Long requestId);
 }
\ No newline at end of file
@@ -3,22 +3,31 @@ package ru.practicum.server.request.service;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import ru.practicum.server.exception.DataNotFoundException;
+import ru.practicum.server.item.dto.ItemDto;
 import ru.practicum.server.item.mapper.ItemMapper;
+import ru.practicum.server.item.model.Comment;
 import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.CommentRepository;
 import ru.practicum.server.item.repository.ItemRepository;
 import ru.practicum.server.request.dto.ItemRequestDto;
+import ru.practicum.server.request.event.ItemRequestCreatedEvent;
 import ru.practicum.server.request.mapper.ItemRequestMapper;
 import ru.practicum.server.request.model.ItemRequest;
 import ru.practicum.server.request.repository.ItemRequestRepository;
+import ru.practicum.server.request.repository.RequestSuggestionRepository;
 import ru.practicum.server.user.model.User;
-import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.user.cache.UserCache;
+import ru.practicum.server.utils.OffsetPageRequest;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
+import static ru.practicum.server.item.service.ItemServiceImpl.INLINE_COMMENTS;
 import static ru.practicum.server.utils.GlobalConstants.REQUEST_NOT_FOUND;
 import static ru.practicum.server.utils.GlobalConstants.USER_NOT_FOUND;
 
@@ -28,8 +37,11 @@ import static ru.practicum.server.utils.GlobalConstants.USER_NOT_FOUND;
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final RequestSuggestionRepository requestSuggestionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     @Override
@@ -38,36 +50,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, user);
         itemRequestRepository.save(itemRequest);
+        eventPublisher.publishEvent(new ItemRequestCreatedEvent(itemRequest.getId(), user.getId(),
+                itemRequest.getDescription()));
 
         return ItemRequestMapper.toItemRequestDto(itemRequest);
     }
 
     @Override
-    public List<ItemRequestDto> getAllByUser(Long userId) {
-        User user = findUserById(userId);
-        List<ItemRequestDto> requests = itemRequestRepository.findAllByRequestorIdOrderByCreatedAsc(user.getId())
-                .stream()
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
-        requests.forEach(this::setItems);
-
-        return requests;
+    public List<ItemRequestDto> getAllByUser(Long userId, int from, int size) {
+        Pageable page = toPage(from, size);
+        requireUser(userId);
+        return toItemRequestDtos(itemRequestRepository.findPageByRequestorId(userId, page));
     }
 
     @Override
-    public List<ItemRequestDto> getAll(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new DataNotFoundException(String.format(USER_NOT_FOUND, userId)));
-
-        List<ItemRequestDto> itemsRequest = itemRequestRepository.findAll(Sort.by("created").descending())
-                .stream()
-                .filter(request -> !request.getRequestor().getId().equals(userId))
-                .map(ItemRequestMapper::toItemRequestDto)
-                .collect(Collectors.toList());
-
-        itemsRequest.forEach(this::setItems);
-
-        return itemsRequest;
+    public List<ItemRequestDto> getAll(Long userId, int from, int size) {
+        Pageable page = toPage(from, size);
+        requireUser(userId);
+        return toItemRequestDtos(itemRequestRepository.findPageOfOthers(userId, page));
     }
 
     @Override
@@ -77,24 +77,59 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .orElseThrow(() -> new DataNotFoundException(String.format(REQUEST_NOT_FOUND, requestId)));
 
         log.info("Item request retrieved: {}", itemRequest);
-        ItemRequestDto itemRequestResponseDto = ItemRequestMapper.toItemRequestDto(itemRequest);
-        setItems(itemRequestResponseDto);
+        return toItemRequestDtos(List.of(itemRequest)).getFirst();
+    }
 
-        return itemRequestResponseDto;
+    @Override
+    public List<ItemDto> getSuggestions(Long requestId) {
+        if (!itemRequestRepository.existsById(requestId)) {
+            throw new DataNotFoundException(String.format(REQUEST_NOT_FOUND, requestId));
+        }
+        return requestSuggestionRepository.findAvailableItemsByRequestId(requestId).stream()
+                .map(ItemMapper::toItemShortDto)
+                .toList();
     }
 
     private User findUserById(Long userId) {
-        return userRepository.findById(userId)
+        return userCache.find(userId)
                 .orElseThrow(() -> new DataNotFoundException(String.format(USER_NOT_FOUND, userId)));
     }
 
-    private void setItems(ItemRequestDto itemRequestResponseDto) {
-        log.info("Setting items for request ID: {}", itemRequestResponseDto.getId());
-        List<Item> items = itemRepository.findAllByRequestId(itemRequestResponseDto.getId());
+    private void requireUser(Long userId) {
+        if (!userCache.exists(userId)) {
+            throw new DataNotFoundException(String.format(USER_NOT_FOUND, userId));
+        }
+    }
+
+    private static Pageable toPage(int from, int size) {
+        return OffsetPageRequest.of(from, size);
+    }
 
-        log.info("Found {} items for request ID: {}", items.size(), itemRequestResponseDto.getId());
-        itemRequestResponseDto.setItems(items.stream()
-                .map(ItemMapper::toItemDto)
-                .collect(Collectors.toList()));
+    /**
+     * Maps a page of requests together with the items answering them, loading the items and their latest comments with
+     * one query each for the whole page.
+     */
+    private List<ItemRequestDto> toItemRequestDtos(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = itemRequests.stream().map(ItemRequest::getId).toList();
+        List<Item> items = itemRepository.findAllByRequestIdIn(requestIds);
+        Map<Long, List<Comment>> comments = items.isEmpty() ? Map.of() : commentRepository
+                .findLatestWithAuthorByItemIdIn(items.stream().map(Item::getId).toList(), INLINE_COMMENTS).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, List<ItemDto>> answers = items.stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(), Collectors.mapping(
+                        item -> ItemMapper.toItemDto(item, comments.getOrDefault(item.getId(), List.of())),
+                        Collectors.toList())));
+        log.info("Found {} items for {} requests", items.size(), itemRequests.size());
+
+        return itemRequests.stream()
+                .map(itemRequest -> {
+                    ItemRequestDto itemRequestDto = ItemRequestMapper.toItemRequestDto(itemRequest);
+                    itemRequestDto.setItems(answers.getOrDefault(itemRequest.getId(), List.of()));
+                    return itemRequestDto;
+                })
+                .toList();
     }
-}
\ No newline at end of file
+}
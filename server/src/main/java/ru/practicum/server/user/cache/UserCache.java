@@ -0,0 +1,87 @@
+package ru.practicum.server.user.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import ru.practicum.server.user.event.UserChangedEvent;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.utils.BoundedTtlCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded near-cache of users keyed by id, shared by every service that starts by checking the calling user.
+ * <p>
+ * Both answers are cached: a known user for {@code shareit.user-cache.ttl} and an unknown id for the shorter
+ * {@code shareit.user-cache.negative-ttl}, so repeated calls with a bad id do not reach the database either. The least
+ * recently read entry is evicted once {@code shareit.user-cache.max-size} is reached. A {@link UserChangedEvent} drops
+ * the entry at once and, when published inside a transaction, again after it completes.
+ * <p>
+ * Every call returns a new detached {@link User}. It is safe to use as the target of an association, which only
+ * needs its id, but changes to it are never written back. Metrics are published with {@code cache=users}.
+ */
+@Component
+public class UserCache {
+
+    public static final String NAME = "users";
+
+    private final UserRepository userRepository;
+    private final BoundedTtlCache<Entry> cache;
+
+    @Autowired
+    public UserCache(UserRepository userRepository,
+                     MeterRegistry meterRegistry,
+                     @Value("${shareit.user-cache.max-size:100000}") int maxSize,
+                     @Value("${shareit.user-cache.ttl:PT10M}") Duration ttl,
+                     @Value("${shareit.user-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this(userRepository, meterRegistry, maxSize, ttl, negativeTtl, Clock.systemUTC());
+    }
+
+    public UserCache(UserRepository userRepository, MeterRegistry meterRegistry, int maxSize, Duration ttl,
+                     Duration negativeTtl, Clock clock) {
+        this.userRepository = userRepository;
+        long ttlMillis = ttl.toMillis();
+        long negativeTtlMillis = negativeTtl.toMillis();
+        this.cache = new BoundedTtlCache<>(NAME, meterRegistry, maxSize,
+                entry -> entry.found() ? ttlMillis : negativeTtlMillis, clock);
+    }
+
+    public Optional<User> find(long userId) {
+        return Optional.ofNullable(cache.get(userId, this::load).toUser(userId));
+    }
+
+    public boolean exists(long userId) {
+        return find(userId).isPresent();
+    }
+
+    public void invalidate(long userId) {
+        cache.invalidate(userId);
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidateAfterCompletion(event.userId());
+    }
+
+    private Entry load(long userId) {
+        return userRepository.findById(userId)
+                .map(found -> new Entry(found.getName(), found.getEmail(), true))
+                .orElseGet(() -> new Entry(null, null, false));
+    }
+
+    private record Entry(String name, String email, boolean found) {
+
+        User toUser(long id) {
+            return found ? User.builder().id(id).name(name).email(email).build() : null;
+        }
+    }
+}
@@ -16,8 +16,11 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public List<UserDto> findAll() {
-        return userService.findAll();
+    public List<UserDto> findAll(@RequestParam(defaultValue = "0") int from,
+                                 @RequestParam(defaultValue = "10") int size,
+                                 @RequestParam(required = false) String email,
+                                 @RequestParam(required = false) String name) {
+        return userService.findAll(from, size, email, name);
     }
 
     @GetMapping("/{userId}")
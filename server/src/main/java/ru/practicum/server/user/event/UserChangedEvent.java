@@ -0,0 +1,13 @@
+package ru.practicum.server.user.event;
+
+/**
+ * Published whenever a user is created, updated or deleted.
+ */
+public record UserChangedEvent(Type type, long userId) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
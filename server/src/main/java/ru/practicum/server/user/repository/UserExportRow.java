@@ -0,0 +1,10 @@
+package ru.practicum.server.user.repository;
+
+public interface UserExportRow {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+}
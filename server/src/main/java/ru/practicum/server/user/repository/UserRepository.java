@@ -1,9 +1,28 @@
 package ru.practicum.server.user.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.server.user.model.User;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    boolean existsByEmail(String email);
+    List<User> findAllBy(Pageable pageable);
+
+    List<User> findAllByEmailStartingWith(String emailPrefix, Pageable pageable);
+
+    List<User> findAllByNameStartingWithIgnoreCase(String namePrefix, Pageable pageable);
+
+    List<User> findAllByEmailStartingWithAndNameStartingWithIgnoreCase(String emailPrefix, String namePrefix,
+                                                                       Pageable pageable);
+
+    @Query("select u.id as id, u.name as name, u.email as email from User u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<UserExportRow> streamAllForExport();
 }
\ No newline at end of file
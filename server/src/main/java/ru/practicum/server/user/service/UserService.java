@@ -6,7 +6,11 @@ import java.util.List;
 
 public interface UserService {
 
-    List<UserDto> findAll();
+    /**
+     * Returns a page of users ordered by id, optionally narrowed to emails and (case-insensitively) names starting
+     * with the given prefixes; {@code null} or blank prefixes are ignored.
+     */
+    List<UserDto> findAll(int from, int size, String emailPrefix, String namePrefix);
 
     UserDto get(Long userId);
 
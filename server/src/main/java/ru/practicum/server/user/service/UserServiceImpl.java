@@ -2,15 +2,23 @@ package ru.practicum.server.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import ru.practicum.server.exception.NotFoundException;
 import ru.practicum.server.exception.UserAlreadyExists;
+import ru.practicum.server.user.cache.UserCache;
+import ru.practicum.server.user.event.UserChangedEvent;
 import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.dto.UserDto;
 import ru.practicum.server.user.repository.UserRepository;
 import ru.practicum.server.user.mapper.UserMapper;
+import ru.practicum.server.utils.OffsetPageRequest;
 
 import java.util.List;
+import java.util.Locale;
 
 import static ru.practicum.server.utils.GlobalConstants.EMAIL_ALREADY_IN_USE;
 import static ru.practicum.server.utils.GlobalConstants.USER_NOT_FOUND;
@@ -20,22 +28,40 @@ import static ru.practicum.server.utils.GlobalConstants.USER_NOT_FOUND;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final String EMAIL_CONSTRAINT = "uq_user_email";
+
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<UserDto> findAll(int from, int size, String emailPrefix, String namePrefix) {
+        Pageable page = OffsetPageRequest.of(from, size, Sort.by("id"));
+        boolean byEmail = emailPrefix != null && !emailPrefix.isBlank();
+        boolean byName = namePrefix != null && !namePrefix.isBlank();
 
-    public List<UserDto> findAll() {
-        List<User> users = userRepository.findAll();
+        List<User> users;
+        if (byEmail && byName) {
+            users = userRepository.findAllByEmailStartingWithAndNameStartingWithIgnoreCase(emailPrefix, namePrefix, page);
+        } else if (byEmail) {
+            users = userRepository.findAllByEmailStartingWith(emailPrefix, page);
+        } else if (byName) {
+            users = userRepository.findAllByNameStartingWithIgnoreCase(namePrefix, page);
+        } else {
+            users = userRepository.findAllBy(page);
+        }
         return UserMapper.toUserDtoList(users);
     }
 
     public UserDto get(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userCache.find(userId)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
         return UserMapper.toUserDto(user);
     }
 
     public UserDto create(UserDto userDto) {
         User user = UserMapper.toUser(userDto);
-        User createdUser = userRepository.save(user);
+        User createdUser = saveUnique(user);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, createdUser.getId()));
         return UserMapper.toUserDto(createdUser);
     }
 
@@ -47,13 +73,11 @@ public class UserServiceImpl implements UserService {
             existingUser.setName(userDto.getName());
         }
         if (userDto.getEmail() != null && !userDto.getEmail().isEmpty()) {
-            if (userRepository.existsByEmail(userDto.getEmail()) && !existingUser.getEmail().equals(userDto.getEmail())) {
-                throw new UserAlreadyExists(EMAIL_ALREADY_IN_USE);
-            }
             existingUser.setEmail(userDto.getEmail());
         }
 
-        User updatedUser = userRepository.save(existingUser);
+        User updatedUser = saveUnique(existingUser);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, userId));
         return UserMapper.toUserDto(updatedUser);
     }
 
@@ -62,6 +86,23 @@ public class UserServiceImpl implements UserService {
             throw new NotFoundException(USER_NOT_FOUND);
         }
         userRepository.deleteById(userId);
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, userId));
         return true;
     }
+
+    /**
+     * Writes the user in one statement and lets {@code UQ_USER_EMAIL} decide whether the email is free, so two
+     * concurrent sign-ups cannot both pass a separate existence check.
+     */
+    private User saveUnique(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+            if (cause.contains(EMAIL_CONSTRAINT)) {
+                throw new UserAlreadyExists(EMAIL_ALREADY_IN_USE + user.getEmail());
+            }
+            throw e;
+        }
+    }
 }
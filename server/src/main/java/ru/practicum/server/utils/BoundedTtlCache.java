@@ -0,0 +1,154 @@
+package ru.practicum.server.utils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded cache of values keyed by entity id, behind the near-caches of single entities.
+ * <p>
+ * Each value expires the number of milliseconds given by {@code ttlMillis} after it was loaded, and the least recently
+ * read entry is evicted once {@code maxSize} is reached. Loads that overlap any invalidation are returned but not
+ * cached. Hits, misses, puts and evictions are published as the standard {@code cache.*} meters tagged with the name
+ * of the cache.
+ */
+public class BoundedTtlCache<V> {
+
+    private final int maxSize;
+    private final ToLongFunction<V> ttlMillis;
+    private final Clock clock;
+
+    private final Map<Long, Entry<V>> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedTtlCache(String name, MeterRegistry meterRegistry, int maxSize, ToLongFunction<V> ttlMillis,
+                           Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        new Metrics(this, name).bindTo(meterRegistry);
+    }
+
+    public V get(long key, LongFunction<V> loader) {
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt() > now) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+        }
+        misses.increment();
+
+        long loadedIn = generation.get();
+        V value = loader.apply(key);
+        synchronized (entries) {
+            if (generation.get() == loadedIn) {
+                entries.put(key, new Entry<>(value, clock.millis() + ttlMillis.applyAsLong(value)));
+                puts.increment();
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(long key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Drops the entry at once and, when called inside a transaction, again after it completes, so a value read before
+     * the commit is not kept.
+     */
+    public void invalidateAfterCompletion(long key) {
+        invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(key);
+                }
+            });
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final class Metrics extends CacheMeterBinder<BoundedTtlCache<?>> {
+
+        private Metrics(BoundedTtlCache<?> cache, String name) {
+            super(cache, name, Tags.empty());
+        }
+
+        @Override
+        protected Long size() {
+            BoundedTtlCache<?> cache = getCache();
+            return cache == null ? null : (long) cache.size();
+        }
+
+        @Override
+        protected long hitCount() {
+            BoundedTtlCache<?> cache = getCache();
+            return cache == null ? 0 : cache.hits.sum();
+        }
+
+        @Override
+        protected Long missCount() {
+            BoundedTtlCache<?> cache = getCache();
+            return cache == null ? null : cache.misses.sum();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            BoundedTtlCache<?> cache = getCache();
+            return cache == null ? null : cache.evictions.sum();
+        }
+
+        @Override
+        protected long putCount() {
+            BoundedTtlCache<?> cache = getCache();
+            return cache == null ? 0 : cache.puts.sum();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        }
+    }
+}
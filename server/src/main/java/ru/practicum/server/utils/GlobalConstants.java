@@ -3,6 +3,7 @@ package ru.practicum.server.utils;
 public class GlobalConstants {
 
     public static final String USERID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     public static final String ITEM_NOT_FOUND = "Item not found. ";
     public static final String USER_NOT_FOUND = "User not found. ";
@@ -13,4 +14,18 @@ public class GlobalConstants {
     public static final String ITEM_NOT_AVAILABLE = "Item is not available for booking. ";
     public static final String USER_NOT_OWNER = "You are not the owner of this booking. ";
     public static final String EMAIL_ALREADY_IN_USE = "Email is already in use. ";
+    public static final String BOOKING_OVERLAPS = "Item is already booked for this period. Item ID: ";
+    public static final String BOOKING_ALREADY_PROCESSED = "Booking has already been approved or rejected. Booking ID: ";
+    public static final String BOOKING_APPROVAL_CONTENDED = "Booking approval could not be completed, please retry. Booking ID: ";
+    public static final String INVALID_BOOKING_PERIOD = "Booking end must be after its start. ";
+    public static final String INVALID_AVAILABILITY_RANGE = "Invalid availability range. ";
+    public static final String INVALID_BATCH_SIZE = "Batch must contain between 1 and %d bookings. ";
+    public static final String IMPORT_LINE_TOO_LONG = "Import line is too long. Maximum characters: ";
+    public static final String IMPORT_LINE_MALFORMED = "Import line is not a valid item. ";
+    public static final String IMPORT_LINE_REJECTED = "Item could not be stored. ";
+    public static final String IMPORT_LINE_FOREIGN_OWNER = "Imported items are owned by the importing user. Line owner: ";
+    public static final String INVALID_EXPORT_ENTITY = "Unknown export. Supported: users, items, bookings. ";
+    public static final String INVALID_EXPORT_FORMAT = "Unknown export format. Supported: ndjson, csv. ";
+    public static final String INVALID_CURSOR = "Invalid cursor value. ";
+    public static final String INVALID_PAGINATION = "Invalid pagination parameters. ";
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package ru.practicum.server.utils;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.server.exception.InvalidParamException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static ru.practicum.server.utils.GlobalConstants.INVALID_CURSOR;
+
+/**
+ * Keyset position in a listing ordered by {@code position DESC, id DESC}, such as bookings by start or comments by
+ * creation time. The first page is represented by a cursor without position and id.
+ */
+@Getter
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class KeysetCursor<T> {
+
+    private static final String SEPARATOR = "|";
+
+    T position;
+
+    Long id;
+
+    public static <T> KeysetCursor<T> first() {
+        return new KeysetCursor<>(null, null);
+    }
+
+    public boolean isFirst() {
+        return position == null;
+    }
+
+    public String encode() {
+        String raw = position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()}, reading the position back with {@code parser}.
+     */
+    public static <T> KeysetCursor<T> decode(String value, Function<String, T> parser) {
+        if (value == null || value.isBlank()) {
+            return first();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new KeysetCursor<>(parser.apply(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new InvalidParamException(INVALID_CURSOR, value);
+        }
+    }
+
+    /**
+     * Returns the cursor of the page following {@code page}, or nothing when the page was not full
+     * and therefore is the last one.
+     */
+    public static <E, T> Optional<String> next(List<E> page, int size, Function<E, T> position,
+                                               Function<E, Long> id) {
+        if (page.isEmpty() || page.size() < size) {
+            return Optional.empty();
+        }
+        E last = page.getLast();
+        return Optional.of(new KeysetCursor<>(position.apply(last), id.apply(last)).encode());
+    }
+}
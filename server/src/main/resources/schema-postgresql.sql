@@ -0,0 +1,14 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS ex_bookings_item_period;
+ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+    EXCLUDE USING gist (item_id WITH =, tstzrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_items_name_trgm ON items USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_items_description_trgm ON items USING gin (upper(description) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS ix_users_email_prefix ON users (email varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS ix_users_name_prefix ON users (upper(name) varchar_pattern_ops);
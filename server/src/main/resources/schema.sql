@@ -1,7 +1,14 @@
 DROP TABLE IF EXISTS users CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS booking CASCADE;
+DROP TABLE IF EXISTS bookings CASCADE;
+DROP TABLE IF EXISTS comments CASCADE;
+DROP TABLE IF EXISTS request_suggestions CASCADE;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
@@ -20,7 +27,7 @@ CREATE TABLE IF NOT EXISTS requests
     );
 
 CREATE TABLE IF NOT EXISTS items (
-    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id INT PRIMARY KEY,
     name VARCHAR(40),
     description VARCHAR(255),
     available BOOLEAN,
@@ -28,20 +35,22 @@ CREATE TABLE IF NOT EXISTS items (
     request_id INT NULL,
     last_booking TIMESTAMP WITHOUT TIME ZONE,
     next_booking TIMESTAMP WITHOUT TIME ZONE,
+    version BIGINT NOT NULL DEFAULT 0,
     FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (request_id) REFERENCES requests(id) ON DELETE SET NULL
     );
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     start_date TIMESTAMP WITH TIME ZONE,
     end_date TIMESTAMP WITH TIME ZONE,
     item_id INT REFERENCES items (id) ON DELETE CASCADE,
     booker_id INT REFERENCES users (id) ON DELETE CASCADE,
     owner_id INT REFERENCES users (id) ON DELETE CASCADE,
     status VARCHAR(30),
-    available BOOLEAN
+    available BOOLEAN,
+    version BIGINT NOT NULL DEFAULT 0
     );
 
 CREATE TABLE IF NOT EXISTS comments
@@ -51,4 +60,23 @@ CREATE TABLE IF NOT EXISTS comments
     item_id INT REFERENCES items (id) ON DELETE CASCADE,
     author_id INT REFERENCES users (id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE
-    );
\ No newline at end of file
+    );
+
+CREATE TABLE IF NOT EXISTS request_suggestions
+(
+    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    request_id INT NOT NULL REFERENCES requests (id) ON DELETE CASCADE,
+    item_id INT NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    score INT NOT NULL,
+    UNIQUE (request_id, item_id)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_item_end ON bookings (booker_id, item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created);
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created);
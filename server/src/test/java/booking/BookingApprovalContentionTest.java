@@ -0,0 +1,135 @@
+package booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.server.ShareItServer;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.model.Booking;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.service.BookingServiceImpl;
+import ru.practicum.server.exception.BookingConflictException;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+import support.Concurrency.Outcome;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static support.Concurrency.runConcurrently;
+
+@SpringBootTest(classes = ShareItServer.class)
+@Slf4j
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class BookingApprovalContentionTest {
+
+    private static final int THREADS = 64;
+    private static final int HOT_ITEMS = 4;
+
+    private final BookingServiceImpl bookingService;
+    private final BookingRepository bookingRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private final List<Item> items = new ArrayList<>();
+    private User owner;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Contention Owner").email("contention-owner@gmail.com").build());
+        booker = userRepository.save(User.builder().name("Contention Booker").email("contention-booker@gmail.com").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAllInBatch(bookings);
+        itemRepository.deleteAllInBatch(items);
+        userRepository.deleteAllInBatch(List.of(owner, booker));
+    }
+
+    @Test
+    void testConcurrentApprovalsOfSameBookingHaveSingleWinner() throws Exception {
+        Item item = createItem();
+        Booking booking = createBooking(item, 0);
+
+        List<Callable<Status>> tasks = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            boolean approve = i % 2 == 0;
+            tasks.add(() -> bookingService.approveBooking(booking.getId(), approve, owner.getId()).getStatus());
+        }
+        List<Outcome<Status>> outcomes = runConcurrently(tasks);
+
+        assertThat(outcomes.stream().filter(Outcome::succeeded).count()).isEqualTo(1);
+        assertThat(outcomes.stream().filter(o -> !o.succeeded()))
+                .allMatch(o -> o.error() instanceof BookingConflictException);
+        Status stored = bookingRepository.findById(booking.getId()).orElseThrow().getStatus();
+        assertThat(outcomes.stream().filter(Outcome::succeeded).findFirst().orElseThrow().value()).isEqualTo(stored);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkApprovalsOnHotItems() throws Exception {
+        List<Item> hot = new ArrayList<>();
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            hot.add(createItem());
+        }
+        List<Callable<Status>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Booking booking = createBooking(hot.get(i % HOT_ITEMS), i / HOT_ITEMS);
+            tasks.add(() -> bookingService.approveBooking(booking.getId(), true, owner.getId()).getStatus());
+        }
+
+        long started = System.nanoTime();
+        List<Outcome<Status>> outcomes = runConcurrently(tasks);
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+        long approved = outcomes.stream().filter(Outcome::succeeded).count();
+        log.info("Approved {} of {} bookings on {} hot items in {} ms ({} approvals/s)",
+                approved, THREADS, HOT_ITEMS, elapsedMillis, String.format("%.1f", approved * 1000.0 / elapsedMillis));
+
+        assertThat(outcomes.stream().filter(o -> !o.succeeded()))
+                .allMatch(o -> o.error() instanceof BookingConflictException);
+        assertThat(bookingRepository.findAllById(bookings.stream().map(Booking::getId).toList()).stream()
+                .filter(b -> b.getStatus() == Status.APPROVED)
+                .count()).isEqualTo(approved);
+    }
+
+    private Item createItem() {
+        Item item = new Item();
+        item.setName("Hot Item");
+        item.setDescription("Item everybody wants");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+        items.add(item);
+        return item;
+    }
+
+    private Booking createBooking(Item item, int slot) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1 + 2L * slot).truncatedTo(ChronoUnit.SECONDS);
+        Booking booking = new Booking();
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setOwner(owner);
+        booking.setStatus(Status.WAITING);
+        booking.setAvailable(true);
+        booking.setStart(start);
+        booking.setEnd(start.plusDays(1));
+        booking = bookingRepository.save(booking);
+        bookings.add(booking);
+        return booking;
+    }
+}
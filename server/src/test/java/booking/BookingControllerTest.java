@@ -8,10 +8,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.server.booking.controller.BookingController;
+import ru.practicum.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.dto.BookingSummaryDto;
 import ru.practicum.server.booking.service.BookingService;
 import ru.practicum.server.booking.Status;
+import ru.practicum.server.utils.GlobalConstants;
+import ru.practicum.server.utils.KeysetCursor;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -21,11 +26,14 @@ import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ContextConfiguration(classes = {BookingController.class})
@@ -64,6 +72,31 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.end", is(bookingDto.getEnd().toString())));
     }
 
+    @Test
+    void shouldCreateBookingsInBatch() throws Exception {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(1L);
+        bookingDto.setStart(LocalDateTime.of(2030, 10, 22, 10, 10, 10));
+        bookingDto.setEnd(LocalDateTime.of(2030, 11, 22, 11, 11, 11));
+
+        when(bookingService.createBookings(any(), eq(1L)))
+                .thenReturn(List.of(
+                        BookingBatchResultDto.builder().index(0).status(201).booking(bookingDto).build(),
+                        BookingBatchResultDto.builder().index(1).status(404).error("Item not found. 2").build()));
+
+        mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(bookingDto, bookingDto)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].booking.itemId", is(1)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Item not found. 2")));
+    }
+
     @Test
     void shouldApproveBooking() throws Exception {
         BookingDto bookingDto = new BookingDto();
@@ -119,7 +152,7 @@ public class BookingControllerTest {
 
         List<BookingDto> bookings = List.of(bookingDto1, bookingDto2);
 
-        when(bookingService.getBookingsForCurrentUser(anyLong(), eq("ALL")))
+        when(bookingService.getBookingsForCurrentUser(anyLong(), eq("ALL"), isNull(), eq(0), eq(10)))
                 .thenReturn(bookings);
 
         mvc.perform(get("/bookings")
@@ -147,7 +180,7 @@ public class BookingControllerTest {
 
         List<BookingDto> bookings = List.of(bookingDto1, bookingDto2);
 
-        when(bookingService.getBookingsForOwner(anyLong(), eq("ALL")))
+        when(bookingService.getBookingsForOwner(anyLong(), eq("ALL"), isNull(), eq(0), eq(10)))
                 .thenReturn(bookings);
 
         mvc.perform(get("/bookings/owner")
@@ -160,4 +193,71 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].id", is(bookingDto1.getId()), Long.class))
                 .andExpect(jsonPath("$[1].id", is(bookingDto2.getId()), Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnNextCursorWhenPageIsFull() throws Exception {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setId(7L);
+        bookingDto.setStart(LocalDateTime.of(2024, 10, 22, 10, 10, 10));
+        bookingDto.setEnd(LocalDateTime.of(2024, 11, 22, 11, 11, 11));
+
+        when(bookingService.getBookingsForOwner(anyLong(), eq("ALL"), isNull(), eq(0), eq(1)))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("size", "1")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GlobalConstants.NEXT_CURSOR_HEADER,
+                        new KeysetCursor<>(bookingDto.getStart(), bookingDto.getId()).encode()));
+    }
+
+    @Test
+    void shouldReturnSummaries() throws Exception {
+        when(bookingService.getBookerSummary(1L))
+                .thenReturn(BookingSummaryDto.builder().all(3).waiting(1).future(2).past(1).build());
+        when(bookingService.getOwnerSummary(1L))
+                .thenReturn(BookingSummaryDto.builder().all(1).approved(1).current(1).build());
+
+        mvc.perform(get("/bookings/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.all", is(3)))
+                .andExpect(jsonPath("$.waiting", is(1)))
+                .andExpect(jsonPath("$.future", is(2)))
+                .andExpect(jsonPath("$.current", is(0)));
+
+        mvc.perform(get("/bookings/owner/summary")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.approved", is(1)))
+                .andExpect(jsonPath("$.current", is(1)));
+    }
+
+    @Test
+    void shouldOpenOwnerBookingStream() throws Exception {
+        when(bookingService.streamOwnerBookings(1L)).thenReturn(new SseEmitter());
+
+        mvc.perform(get("/bookings/owner/stream")
+                        .header("X-Sharer-User-Id", 1L)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void shouldOmitNextCursorOnLastPage() throws Exception {
+        when(bookingService.getBookingsForCurrentUser(anyLong(), eq("ALL"), isNull(), eq(0), eq(10)))
+                .thenReturn(List.of());
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(GlobalConstants.NEXT_CURSOR_HEADER));
+    }
+}
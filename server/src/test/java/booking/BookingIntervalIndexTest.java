@@ -0,0 +1,120 @@
+package booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.booking.index.BookingIntervalIndex;
+import ru.practicum.server.booking.repository.BookingPeriod;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.user.event.UserChangedEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+
+    private static final long ITEM_ID = 1L;
+    private static final LocalDateTime BASE = LocalDateTime.now().plusDays(1).withNano(0);
+
+    private BookingRepository bookingRepository;
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        index = new BookingIntervalIndex(bookingRepository);
+    }
+
+    @Test
+    void tryReserve_shouldRejectOverlappingPeriods() {
+        assertTrue(index.tryReserve(ITEM_ID, BASE, BASE.plusHours(2)));
+
+        assertFalse(index.tryReserve(ITEM_ID, BASE.plusHours(1), BASE.plusHours(3)));
+        assertFalse(index.tryReserve(ITEM_ID, BASE.minusHours(1), BASE.plusHours(1)));
+        assertFalse(index.tryReserve(ITEM_ID, BASE.minusHours(1), BASE.plusHours(5)));
+        assertFalse(index.tryReserve(ITEM_ID, BASE.plusMinutes(10), BASE.plusMinutes(20)));
+    }
+
+    @Test
+    void tryReserve_shouldAcceptAdjacentPeriodsAndOtherItems() {
+        assertTrue(index.tryReserve(ITEM_ID, BASE, BASE.plusHours(2)));
+
+        assertTrue(index.tryReserve(ITEM_ID, BASE.plusHours(2), BASE.plusHours(3)));
+        assertTrue(index.tryReserve(ITEM_ID, BASE.minusHours(1), BASE));
+        assertTrue(index.tryReserve(ITEM_ID + 1, BASE, BASE.plusHours(2)));
+    }
+
+    @Test
+    void release_shouldFreePeriodEvenWithTruncatedValues() {
+        LocalDateTime start = BASE.plusNanos(123_456_789);
+        LocalDateTime end = start.plusHours(2);
+        assertTrue(index.tryReserve(ITEM_ID, start, end));
+
+        index.release(ITEM_ID, start.withNano(123_457_000), end.withNano(123_457_000));
+
+        assertTrue(index.tryReserve(ITEM_ID, start, end));
+    }
+
+    @Test
+    void release_shouldKeepNeighbourPeriods() {
+        assertTrue(index.tryReserve(ITEM_ID, BASE, BASE.plusHours(1)));
+        assertTrue(index.tryReserve(ITEM_ID, BASE.plusHours(1), BASE.plusHours(2)));
+
+        index.release(ITEM_ID, BASE.plusHours(1), BASE.plusHours(2));
+
+        assertFalse(index.tryReserve(ITEM_ID, BASE, BASE.plusMinutes(30)));
+        assertTrue(index.tryReserve(ITEM_ID, BASE.plusHours(1), BASE.plusHours(2)));
+    }
+
+    @Test
+    void warmUp_shouldLoadActivePeriods() {
+        BookingPeriod period = mock(BookingPeriod.class);
+        when(period.getItemId()).thenReturn(ITEM_ID);
+        when(period.getStart()).thenReturn(BASE);
+        when(period.getEnd()).thenReturn(BASE.plusDays(1));
+        when(bookingRepository.findPeriodsEndingAfter(any(), any())).thenReturn(List.of(period));
+
+        index.warmUp();
+
+        assertFalse(index.tryReserve(ITEM_ID, BASE.plusHours(3), BASE.plusHours(4)));
+    }
+
+    @Test
+    void onUserChanged_shouldDropPeriodsRemovedWithDeletedUser() {
+        BookingPeriod kept = mock(BookingPeriod.class);
+        when(kept.getItemId()).thenReturn(ITEM_ID + 1);
+        when(kept.getStart()).thenReturn(BASE);
+        when(kept.getEnd()).thenReturn(BASE.plusHours(2));
+        when(bookingRepository.findPeriodsEndingAfter(any(), any())).thenReturn(List.of(kept));
+        assertTrue(index.tryReserve(ITEM_ID, BASE, BASE.plusHours(2)));
+        assertTrue(index.tryReserve(ITEM_ID + 1, BASE, BASE.plusHours(2)));
+
+        index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.UPDATED, 7L));
+        assertTrue(index.busyPeriods(ITEM_ID, BASE, BASE.plusDays(1)).containsKey(BASE));
+
+        index.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.DELETED, 7L));
+        assertTrue(index.busyPeriods(ITEM_ID, BASE, BASE.plusDays(1)).isEmpty());
+        assertTrue(index.tryReserve(ITEM_ID, BASE, BASE.plusHours(2)));
+        assertFalse(index.tryReserve(ITEM_ID + 1, BASE.plusHours(1), BASE.plusHours(3)));
+    }
+
+    @Test
+    void busyPeriods_shouldIncludePeriodStartedBeforeWindow() {
+        index.tryReserve(ITEM_ID, BASE, BASE.plusHours(2));
+        index.tryReserve(ITEM_ID, BASE.plusHours(3), BASE.plusHours(4));
+        index.tryReserve(ITEM_ID, BASE.plusHours(6), BASE.plusHours(7));
+
+        NavigableMap<LocalDateTime, LocalDateTime> busy = index.busyPeriods(ITEM_ID, BASE.plusHours(1),
+                BASE.plusHours(6));
+
+        assertEquals(List.of(BASE, BASE.plusHours(3)), List.copyOf(busy.keySet()));
+        assertTrue(index.busyPeriods(ITEM_ID + 1, BASE, BASE.plusDays(1)).isEmpty());
+    }
+}
@@ -0,0 +1,221 @@
+package booking;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.server.ShareItServer;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.model.Booking;
+import ru.practicum.server.booking.query.BookingQueryPlanner;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.utils.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static support.HibernateStatements.statementsFor;
+
+@SpringBootTest(classes = ShareItServer.class)
+@Transactional
+public class BookingQueryPlannerTest {
+
+    @Autowired
+    private BookingQueryPlanner bookingQueryPlanner;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User booker;
+    private User owner;
+    private Item item;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Test User", "testUser1@gmail.com"));
+        booker = userRepository.save(new User(null, "Test User 2", "testUser2@gmail.com"));
+
+        item = itemRepository.save(Item.builder()
+                .name("Test Item")
+                .description("Item description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .owner(owner)
+                .status(Status.WAITING)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .available(false)
+                .build());
+    }
+
+    @Test
+    void testFindProjectsBookingWithItemAndBooker() {
+        List<BookingDto> bookings = find(booker, false, Status.ALL, KeysetCursor.first(), 10);
+
+        assertEquals(1, bookings.size());
+        BookingDto found = bookings.getFirst();
+        assertEquals(booking.getId(), found.getId());
+        assertEquals(Status.WAITING, found.getStatus());
+        assertFalse(found.getApproved());
+        assertEquals(owner.getId(), found.getOwnerId());
+        assertEquals(item.getId(), found.getItemId());
+        assertEquals("Test Item", found.getItem().getName());
+        assertEquals(owner.getId(), found.getItem().getOwner());
+        assertNull(found.getItem().getRequestId());
+        assertEquals(booker.getId(), found.getBookerId());
+        assertEquals("Test User 2", found.getBooker().getName());
+    }
+
+    @Test
+    void testFindByStoredStatusNotFound() {
+        List<BookingDto> bookings = find(booker, false, Status.APPROVED, KeysetCursor.first(), 10);
+
+        assertNotNull(bookings);
+        assertTrue(bookings.isEmpty());
+    }
+
+    @Test
+    void testFindOnlyReturnsOwnBookings() {
+        assertTrue(find(owner, false, Status.ALL, KeysetCursor.first(), 10).isEmpty());
+        assertTrue(find(booker, true, Status.ALL, KeysetCursor.first(), 10).isEmpty());
+        assertEquals(1, find(owner, true, Status.WAITING, KeysetCursor.first(), 10).size());
+    }
+
+    @Test
+    void testFindCurrentForOwner() {
+        Booking currentBooking = bookingRepository.save(copyOfBooking()
+                .start(LocalDateTime.now().minusDays(1))
+                .end(LocalDateTime.now().plusDays(1))
+                .build());
+
+        List<BookingDto> currentBookings = find(owner, true, Status.CURRENT, KeysetCursor.first(), 10);
+
+        assertEquals(1, currentBookings.size());
+        assertEquals(currentBooking.getId(), currentBookings.getFirst().getId());
+    }
+
+    @Test
+    void testFindCurrentForBookerIgnoresStoredStatus() {
+        Booking approvedNow = bookingRepository.save(copyOfBooking()
+                .status(Status.APPROVED)
+                .start(LocalDateTime.now().minusHours(1))
+                .end(LocalDateTime.now().plusHours(1))
+                .build());
+
+        List<BookingDto> currentBookings = find(booker, false, Status.CURRENT, KeysetCursor.first(), 10);
+
+        assertEquals(1, currentBookings.size());
+        assertEquals(approvedNow.getId(), currentBookings.getFirst().getId());
+        assertTrue(currentBookings.getFirst().getApproved());
+    }
+
+    @Test
+    void testFindPastForOwner() {
+        Booking pastBooking = bookingRepository.save(copyOfBooking()
+                .status(Status.APPROVED)
+                .start(LocalDateTime.now().minusDays(3))
+                .end(LocalDateTime.now().minusDays(2))
+                .build());
+
+        List<BookingDto> pastBookings = find(owner, true, Status.PAST, KeysetCursor.first(), 10);
+
+        assertEquals(1, pastBookings.size());
+        assertEquals(pastBooking.getId(), pastBookings.getFirst().getId());
+    }
+
+    @Test
+    void testFindFutureForBooker() {
+        List<BookingDto> futureBookings = find(booker, false, Status.FUTURE, KeysetCursor.first(), 10);
+
+        assertEquals(1, futureBookings.size());
+        assertEquals(booking.getId(), futureBookings.getFirst().getId());
+    }
+
+    @Test
+    void testFindForBookerPagesByKeyset() {
+        Booking later = bookingRepository.save(copyOfBooking()
+                .start(LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(6))
+                .build());
+
+        List<BookingDto> firstPage = find(booker, false, Status.ALL, KeysetCursor.first(), 1);
+        KeysetCursor<LocalDateTime> cursor = new KeysetCursor<>(firstPage.getLast().getStart(), firstPage.getLast().getId());
+        List<BookingDto> secondPage = find(booker, false, Status.ALL, cursor, 1);
+        List<BookingDto> thirdPage = find(booker, false, Status.ALL,
+                new KeysetCursor<>(secondPage.getLast().getStart(), secondPage.getLast().getId()), 1);
+
+        assertEquals(later.getId(), firstPage.getFirst().getId());
+        assertEquals(1, secondPage.size());
+        assertEquals(booking.getId(), secondPage.getFirst().getId());
+        assertTrue(thirdPage.isEmpty());
+    }
+
+    @Test
+    void testFindForOwnerPagesByKeysetWithinSameStart() {
+        LocalDateTime start = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS);
+        Booking first = bookingRepository.save(copyOfBooking().start(start).build());
+        Booking sameStart = bookingRepository.save(copyOfBooking().start(start).build());
+
+        List<BookingDto> firstPage = find(owner, true, Status.WAITING, KeysetCursor.first(), 1);
+        KeysetCursor<LocalDateTime> cursor = new KeysetCursor<>(firstPage.getLast().getStart(), firstPage.getLast().getId());
+        List<BookingDto> secondPage = find(owner, true, Status.WAITING, cursor, 1);
+
+        assertEquals(sameStart.getId(), firstPage.getFirst().getId());
+        assertEquals(first.getId(), secondPage.getFirst().getId());
+    }
+
+    @Test
+    void testFindIssuesSingleStatementRegardlessOfListSize() {
+        long oneBooking = statementsFor(entityManager, () -> find(booker, false, Status.ALL, KeysetCursor.first(), 50));
+        for (int i = 0; i < 20; i++) {
+            bookingRepository.save(copyOfBooking().start(LocalDateTime.now().plusDays(10 + i)).build());
+        }
+        long manyBookings = statementsFor(entityManager, () -> assertEquals(21,
+                find(booker, false, Status.ALL, KeysetCursor.first(), 50).size()));
+
+        assertEquals(1, oneBooking);
+        assertEquals(oneBooking, manyBookings);
+    }
+
+    @Test
+    void testFindByIdIssuesSingleStatement() {
+        long statements = statementsFor(entityManager, () -> assertEquals(item.getId(),
+                bookingQueryPlanner.findById(booking.getId()).orElseThrow().getItem().getId()));
+
+        assertEquals(1, statements);
+        assertTrue(bookingQueryPlanner.findById(Long.MAX_VALUE).isEmpty());
+    }
+
+    private List<BookingDto> find(User person, boolean isOwner, Status state, KeysetCursor<LocalDateTime> cursor, int size) {
+        return bookingQueryPlanner.find(person.getId(), isOwner, state, cursor, PageRequest.of(0, size));
+    }
+
+    private Booking.BookingBuilder copyOfBooking() {
+        return booking.toBuilder().id(null).version(null);
+    }
+}
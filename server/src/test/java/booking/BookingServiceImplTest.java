@@ -1,5 +1,6 @@
 package booking;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,27 +9,33 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.ShareItServer;
+import ru.practicum.server.booking.dto.BookingBatchResultDto;
 import ru.practicum.server.booking.dto.BookingDto;
-import ru.practicum.server.booking.handler.AllBookingHandler;
 import ru.practicum.server.booking.model.Booking;
 import ru.practicum.server.booking.repository.BookingRepository;
 import ru.practicum.server.booking.service.BookingServiceImpl;
 import ru.practicum.server.booking.Status;
+import ru.practicum.server.exception.BookingConflictException;
 import ru.practicum.server.exception.InvalidParamException;
 import ru.practicum.server.exception.NotFoundException;
 import ru.practicum.server.item.model.Item;
 import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.service.ItemServiceImpl;
 import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.utils.KeysetCursor;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static ru.practicum.server.utils.GlobalConstants.BOOKING_NOT_FOUND;
+import static support.HibernateStatements.statementsFor;
 
 @SpringBootTest(classes = ShareItServer.class)
 @Transactional
@@ -40,7 +47,8 @@ public class BookingServiceImplTest {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
-    private final AllBookingHandler allBookingHandler;
+    private final ItemServiceImpl itemService;
+    private final EntityManager entityManager;
 
     private User owner;
     private User booker;
@@ -101,6 +109,15 @@ public class BookingServiceImplTest {
         assertThat(updatedBooking.getStatus()).isEqualTo(Status.APPROVED);
     }
 
+    @Test
+    void testApproveBookingRefreshesCachedItem() {
+        assertThat(itemService.get(item.getId()).getAvailable()).isTrue();
+
+        bookingService.approveBooking(booking.getId(), true, owner.getId());
+
+        assertThat(itemService.get(item.getId()).getAvailable()).isFalse();
+    }
+
     @Test
     void testApproveBookingNotFound() {
         Long nonExistentBookingId = 999L;
@@ -149,7 +166,7 @@ public class BookingServiceImplTest {
 
     @Test
     void testGetBookingsWithInvalidState() {
-        assertThrows(InvalidParamException.class, () -> bookingService.getBookingsForCurrentUser(booker.getId(), "INVALID_STATE"));
+        assertThrows(InvalidParamException.class, () -> bookingService.getBookingsForCurrentUser(booker.getId(), "INVALID_STATE", null, 0, 10));
     }
 
     @Test
@@ -245,7 +262,7 @@ public class BookingServiceImplTest {
         bookingDto.setEnd(LocalDateTime.now().plusDays(1));
         bookingService.createBooking(bookingDto, booker.getId());
 
-        List<BookingDto> bookings = bookingService.getBookingsForCurrentUser(booker.getId(), "ALL");
+        List<BookingDto> bookings = bookingService.getBookingsForCurrentUser(booker.getId(), "ALL", null, 0, 10);
 
         assertThat(bookings).isNotEmpty();
         assertThat(bookings.getFirst().getBookerId()).isEqualTo(booker.getId());
@@ -259,9 +276,153 @@ public class BookingServiceImplTest {
         bookingDto.setEnd(LocalDateTime.now().plusDays(1));
         bookingService.createBooking(bookingDto, booker.getId());
 
-        List<BookingDto> bookings = bookingService.getBookingsForOwner(owner.getId(), "ALL");
+        List<BookingDto> bookings = bookingService.getBookingsForOwner(owner.getId(), "ALL", null, 0, 10);
 
         assertThat(bookings).isNotEmpty();
         assertThat(bookings.getFirst().getItemId()).isEqualTo(item.getId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBookingsForCurrentUserFollowsCursor() {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(3));
+        BookingDto created = bookingService.createBooking(bookingDto, booker.getId());
+
+        List<BookingDto> firstPage = bookingService.getBookingsForCurrentUser(booker.getId(), "ALL", null, 0, 1);
+        String cursor = KeysetCursor.next(firstPage, 1, BookingDto::getStart, BookingDto::getId).orElseThrow();
+        List<BookingDto> secondPage = bookingService.getBookingsForCurrentUser(booker.getId(), "ALL", cursor, 0, 1);
+
+        assertThat(firstPage).extracting(BookingDto::getId).containsExactly(created.getId());
+        assertThat(secondPage).extracting(BookingDto::getId).containsExactly(booking.getId());
+    }
+
+    @Test
+    void testGetBookingsWithInvalidCursor() {
+        assertThrows(InvalidParamException.class,
+                () -> bookingService.getBookingsForOwner(owner.getId(), "ALL", "not-a-cursor", 0, 10));
+    }
+
+    @Test
+    void testGetBookingsWithInvalidSize() {
+        assertThrows(InvalidParamException.class,
+                () -> bookingService.getBookingsForOwner(owner.getId(), "ALL", null, 0, 0));
+    }
+
+    @Test
+    void testCreateOverlappingBookingConflicts() {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(2));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(4));
+        bookingService.createBooking(bookingDto, booker.getId());
+
+        BookingDto overlapping = new BookingDto();
+        overlapping.setItemId(item.getId());
+        overlapping.setStart(LocalDateTime.now().plusDays(3));
+        overlapping.setEnd(LocalDateTime.now().plusDays(5));
+
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(overlapping, booker.getId()));
+    }
+
+    @Test
+    void testRejectedBookingFreesPeriod() {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(2));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(4));
+        BookingDto created = bookingService.createBooking(bookingDto, booker.getId());
+
+        bookingService.approveBooking(created.getId(), false, owner.getId());
+        Item rejectedItem = itemRepository.findById(item.getId()).orElseThrow();
+        rejectedItem.setAvailable(true);
+        itemRepository.save(rejectedItem);
+
+        BookingDto again = bookingService.createBooking(bookingDto, booker.getId());
+        assertThat(again.getId()).isNotEqualTo(created.getId());
+    }
+
+    @Test
+    void testCreateBookingWithEndBeforeStart() {
+        BookingDto bookingDto = new BookingDto();
+        bookingDto.setItemId(item.getId());
+        bookingDto.setStart(LocalDateTime.now().plusDays(2));
+        bookingDto.setEnd(LocalDateTime.now().plusDays(1));
+
+        assertThrows(InvalidParamException.class, () -> bookingService.createBooking(bookingDto, booker.getId()));
+    }
+
+    @Test
+    void testCreateBookingsReportsResultPerElement() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        BookingDto valid = BookingDto.builder().itemId(item.getId()).start(start).end(start.plusDays(1)).build();
+        BookingDto unknownItem = BookingDto.builder().itemId(999_999L).start(start).end(start.plusDays(1)).build();
+        BookingDto overlapping = BookingDto.builder().itemId(item.getId()).start(start.plusHours(1))
+                .end(start.plusDays(2)).build();
+        BookingDto endBeforeStart = BookingDto.builder().itemId(item.getId()).start(start.plusDays(5))
+                .end(start.plusDays(4)).build();
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(
+                Arrays.asList(valid, unknownItem, overlapping, endBeforeStart), booker.getId());
+
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(201, 404, 409, 400);
+        assertThat(results).extracting(BookingBatchResultDto::getIndex).containsExactly(0, 1, 2, 3);
+        BookingDto created = results.getFirst().getBooking();
+        assertThat(created.getBookerId()).isEqualTo(booker.getId());
+        assertThat(bookingRepository.findById(created.getId())).isPresent();
+    }
+
+    @Test
+    void testCreateBookingsAlwaysBooksAsCaller() {
+        User caller = userRepository.save(User.builder().name("Caller").email("caller@gmail.com").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(10);
+        BookingDto impersonating = BookingDto.builder().itemId(item.getId()).bookerId(booker.getId())
+                .start(start).end(start.plusDays(1)).build();
+
+        List<BookingBatchResultDto> results = bookingService.createBookings(List.of(impersonating), caller.getId());
+
+        assertThat(results).extracting(BookingBatchResultDto::getStatus).containsExactly(201);
+        BookingDto created = results.getFirst().getBooking();
+        assertThat(created.getBookerId()).isEqualTo(caller.getId());
+        assertThat(bookingRepository.findById(created.getId()).orElseThrow().getBooker().getId())
+                .isEqualTo(caller.getId());
+        assertThrows(NotFoundException.class, () -> bookingService.createBookings(batch(1, 20), 999_999L));
+    }
+
+    @Test
+    void testCreateBookingsUsesConstantStatementCount() {
+        long small = statementsFor(entityManager, () -> bookingService.createBookings(batch(2, 20), booker.getId()));
+        long large = statementsFor(entityManager, () -> bookingService.createBookings(batch(40, 30), booker.getId()));
+
+        // 40 pooled ids may straddle one more sequence block; everything else is one statement per batch
+        assertThat(large).isLessThanOrEqualTo(small + 1);
+    }
+
+    @Test
+    void testCreateBookingsRejectsEmptyBatch() {
+        assertThrows(InvalidParamException.class, () -> bookingService.createBookings(List.of(), booker.getId()));
+    }
+
+    @Test
+    void testCreateBookingsRejectsOversizedBatchWithItsLimit() {
+        InvalidParamException thrown = assertThrows(InvalidParamException.class,
+                () -> bookingService.createBookings(batch(501, 20), booker.getId()));
+
+        assertThat(thrown.getParameter()).isEqualTo("Batch must contain between 1 and 500 bookings. ");
+        assertThat(thrown.getReason()).isEqualTo("501");
+    }
+
+    private List<BookingDto> batch(int size, int firstDay) {
+        List<BookingDto> bookings = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().plusDays(firstDay);
+        for (int i = 0; i < size; i++) {
+            bookings.add(BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(base.plusHours(2L * i))
+                    .end(base.plusHours(2L * i + 1))
+                    .build());
+        }
+        return bookings;
+    }
+}
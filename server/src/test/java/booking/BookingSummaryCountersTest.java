@@ -0,0 +1,172 @@
+package booking;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.server.ShareItServer;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.dto.BookingSummaryDto;
+import ru.practicum.server.booking.event.BookingChangedEvent;
+import ru.practicum.server.booking.mapper.BookingMapper;
+import ru.practicum.server.booking.model.Booking;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.summary.BookingSummaryCounters;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static support.HibernateStatements.statementsFor;
+
+@SpringBootTest(classes = ShareItServer.class)
+@Transactional
+public class BookingSummaryCountersTest {
+
+    @Autowired
+    private BookingSummaryCounters bookingSummaryCounters;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User booker;
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "summaryOwner@gmail.com"));
+        booker = userRepository.save(new User(null, "Booker", "summaryBooker@gmail.com"));
+        item = itemRepository.save(Item.builder()
+                .name("Test Item")
+                .description("Item description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @Test
+    void testSummaryLoadsStoredAndTimeStates() {
+        LocalDateTime now = LocalDateTime.now();
+        save(Status.APPROVED, now.minusDays(3), now.minusDays(2));
+        save(Status.APPROVED, now.minusHours(1), now.plusHours(1));
+        save(Status.WAITING, now.plusDays(1), now.plusDays(2));
+        save(Status.REJECTED, now.plusDays(3), now.plusDays(4));
+
+        BookingSummaryDto summary = bookingSummaryCounters.bookerSummary(booker.getId());
+
+        assertEquals(4, summary.getAll());
+        assertEquals(1, summary.getWaiting());
+        assertEquals(2, summary.getApproved());
+        assertEquals(1, summary.getRejected());
+        assertEquals(1, summary.getPast());
+        assertEquals(1, summary.getCurrent());
+        assertEquals(2, summary.getFuture());
+        assertEquals(4, bookingSummaryCounters.ownerSummary(owner.getId()).getAll());
+    }
+
+    @Test
+    void testEventsUpdateTrackedCounters() {
+        assertEquals(0, bookingSummaryCounters.ownerSummary(owner.getId()).getAll());
+        assertEquals(0, bookingSummaryCounters.bookerSummary(booker.getId()).getAll());
+        Booking booking = save(Status.WAITING, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        publish(BookingChangedEvent.Type.CREATED, booking);
+        BookingSummaryDto created = bookingSummaryCounters.ownerSummary(owner.getId());
+        booking.setStatus(Status.APPROVED);
+        publish(BookingChangedEvent.Type.APPROVED, booking);
+        BookingSummaryDto approved = bookingSummaryCounters.bookerSummary(booker.getId());
+
+        assertEquals(1, created.getAll());
+        assertEquals(1, created.getWaiting());
+        assertEquals(1, created.getFuture());
+        assertEquals(0, approved.getWaiting());
+        assertEquals(1, approved.getApproved());
+        assertEquals(1, approved.getFuture());
+    }
+
+    @Test
+    void testSummaryMovesBookingsBetweenTimeStatesAsTimePasses() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusNanos(200_000_000);
+        save(Status.APPROVED, start, start.plusNanos(200_000_000));
+
+        BookingSummaryDto before = bookingSummaryCounters.bookerSummary(booker.getId());
+        Thread.sleep(600);
+        BookingSummaryDto after = bookingSummaryCounters.bookerSummary(booker.getId());
+
+        assertEquals(1, before.getFuture());
+        assertEquals(0, after.getFuture());
+        assertEquals(0, after.getCurrent());
+        assertEquals(1, after.getPast());
+    }
+
+    @Test
+    void testReconcileRepairsMissedChanges() {
+        assertEquals(0, bookingSummaryCounters.ownerSummary(owner.getId()).getAll());
+        save(Status.WAITING, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        assertEquals(0, bookingSummaryCounters.ownerSummary(owner.getId()).getAll());
+
+        bookingSummaryCounters.reconcile();
+
+        BookingSummaryDto summary = bookingSummaryCounters.ownerSummary(owner.getId());
+        assertEquals(1, summary.getAll());
+        assertEquals(1, summary.getWaiting());
+        assertEquals(1, summary.getFuture());
+    }
+
+    @Test
+    void testReconcileReloadsOnlyPeopleTouchedSinceLastRun() {
+        bookingSummaryCounters.reconcile();
+        assertEquals(0, bookingSummaryCounters.ownerSummary(owner.getId()).getAll());
+        long touched = statementsFor(entityManager, bookingSummaryCounters::reconcile);
+        save(Status.WAITING, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        long untouched = statementsFor(entityManager, bookingSummaryCounters::reconcile);
+
+        assertEquals(2, touched);
+        assertEquals(0, untouched);
+        assertEquals(0, bookingSummaryCounters.ownerSummary(owner.getId()).getAll());
+    }
+
+    @Test
+    void testLeastRecentlyReadPersonIsDroppedToMakeRoom() {
+        BookingSummaryCounters counters = new BookingSummaryCounters(bookingRepository, 1, 1000);
+        assertEquals(0, counters.bookerSummary(booker.getId()).getAll());
+        assertEquals(0, counters.ownerSummary(owner.getId()).getAll());
+        save(Status.WAITING, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+
+        assertEquals(1, counters.size());
+        assertEquals(0, counters.ownerSummary(owner.getId()).getAll());
+        assertEquals(1, counters.bookerSummary(booker.getId()).getAll());
+    }
+
+    private Booking save(Status status, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .owner(owner)
+                .status(status)
+                .start(start)
+                .end(end)
+                .available(false)
+                .build());
+    }
+
+    private void publish(BookingChangedEvent.Type type, Booking booking) {
+        bookingSummaryCounters.onBookingChanged(new BookingChangedEvent(type, BookingMapper.toBookingDto(booking)));
+    }
+}
@@ -0,0 +1,107 @@
+package booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.event.BookingChangedEvent;
+import ru.practicum.server.booking.index.CompletedStays;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.booking.repository.BookingStay;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CompletedStaysTest {
+
+    private BookingRepository bookingRepository;
+    private CompletedStays completedStays;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        completedStays = new CompletedStays(bookingRepository);
+    }
+
+    @Test
+    void testWarmUpLoadsEndedStays() {
+        when(bookingRepository.findStaysEndedBefore(any())).thenReturn(List.of(stay(1L, 2L, LocalDateTime.now())));
+
+        completedStays.warmUp();
+
+        assertTrue(completedStays.hasCompletedStay(1L, 2L));
+        verify(bookingRepository, never()).existsByBooker_IdAndItem_IdAndEndBefore(anyLong(), anyLong(), any());
+    }
+
+    @Test
+    void testCreatedBookingCountsOnceItHasEnded() throws InterruptedException {
+        LocalDateTime end = LocalDateTime.now().plusNanos(200_000_000);
+        completedStays.onBookingChanged(new BookingChangedEvent(BookingChangedEvent.Type.CREATED, BookingDto.builder()
+                .itemId(2L)
+                .bookerId(1L)
+                .start(end.minusHours(1))
+                .end(end)
+                .status(Status.WAITING)
+                .build()));
+
+        boolean before = completedStays.hasCompletedStay(1L, 2L);
+        Thread.sleep(400);
+        boolean after = completedStays.hasCompletedStay(1L, 2L);
+
+        assertFalse(before);
+        assertTrue(after);
+        verify(bookingRepository, times(1)).existsByBooker_IdAndItem_IdAndEndBefore(eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void testMissFallsBackToDatabaseAndRemembersPositiveAnswer() {
+        when(bookingRepository.existsByBooker_IdAndItem_IdAndEndBefore(eq(1L), eq(2L), any())).thenReturn(true);
+
+        assertTrue(completedStays.hasCompletedStay(1L, 2L));
+        assertTrue(completedStays.hasCompletedStay(1L, 2L));
+        assertFalse(completedStays.hasCompletedStay(2L, 1L));
+
+        verify(bookingRepository, times(1)).existsByBooker_IdAndItem_IdAndEndBefore(eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void testIdsBeyondPackedRangeAlwaysAskDatabase() {
+        long largeId = 1L << 40;
+        when(bookingRepository.existsByBooker_IdAndItem_IdAndEndBefore(eq(largeId), eq(2L), any())).thenReturn(true);
+
+        assertTrue(completedStays.hasCompletedStay(largeId, 2L));
+        assertTrue(completedStays.hasCompletedStay(largeId, 2L));
+
+        verify(bookingRepository, times(2)).existsByBooker_IdAndItem_IdAndEndBefore(eq(largeId), eq(2L), any());
+    }
+
+    private static BookingStay stay(Long bookerId, Long itemId, LocalDateTime end) {
+        return new BookingStay() {
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
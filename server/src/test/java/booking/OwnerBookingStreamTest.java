@@ -0,0 +1,124 @@
+package booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.server.booking.dto.BookingDto;
+import ru.practicum.server.booking.event.BookingChangedEvent;
+import ru.practicum.server.booking.event.OwnerBookingStream;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OwnerBookingStreamTest {
+
+    private static final long OWNER_ID = 1L;
+
+    private OwnerBookingStream stream;
+
+    @BeforeEach
+    void setUp() {
+        stream = new OwnerBookingStream();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.shutdown();
+    }
+
+    @Test
+    void onBookingChanged_shouldPushEventsToOwnerOnly() throws Exception {
+        RecordingEmitter owner = new RecordingEmitter();
+        RecordingEmitter otherOwner = new RecordingEmitter();
+        stream.register(OWNER_ID, owner);
+        stream.register(OWNER_ID + 1, otherOwner);
+
+        stream.onBookingChanged(event(BookingChangedEvent.Type.CREATED, 10L));
+        stream.onBookingChanged(event(BookingChangedEvent.Type.APPROVED, 10L));
+
+        assertTrue(owner.next().contains("event:CREATED"));
+        assertTrue(owner.next().contains("event:APPROVED"));
+        assertNull(otherOwner.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void onBookingChanged_shouldReplaceBacklogWithResyncWhenClientFallsBehind() throws Exception {
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.blockFirstSend();
+        stream.register(OWNER_ID, slow);
+
+        stream.onBookingChanged(event(BookingChangedEvent.Type.CREATED, 0L));
+        assertTrue(slow.firstSendEntered.await(1, TimeUnit.SECONDS));
+        for (long id = 1; id <= OwnerBookingStream.BUFFER_CAPACITY + 1; id++) {
+            stream.onBookingChanged(event(BookingChangedEvent.Type.CREATED, id));
+        }
+        slow.releaseFirstSend.countDown();
+
+        assertTrue(slow.next().contains("id:0"));
+        assertTrue(slow.next().contains("event:resync"));
+        assertNull(slow.sent.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void register_shouldForgetSubscriptionWhenSendFails() throws Exception {
+        RecordingEmitter broken = new RecordingEmitter();
+        broken.failSends = true;
+        stream.register(OWNER_ID, broken);
+
+        stream.onBookingChanged(event(BookingChangedEvent.Type.CREATED, 1L));
+
+        long deadline = System.currentTimeMillis() + 1000;
+        while (stream.subscriberCount(OWNER_ID) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, stream.subscriberCount(OWNER_ID));
+    }
+
+    private static BookingChangedEvent event(BookingChangedEvent.Type type, long bookingId) {
+        return new BookingChangedEvent(type, BookingDto.builder().id(bookingId).ownerId(OWNER_ID).build());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<String> sent = new LinkedBlockingQueue<>();
+        final CountDownLatch firstSendEntered = new CountDownLatch(1);
+        CountDownLatch releaseFirstSend = new CountDownLatch(0);
+        volatile boolean failSends;
+
+        void blockFirstSend() {
+            releaseFirstSend = new CountDownLatch(1);
+        }
+
+        String next() throws InterruptedException {
+            String event = sent.poll(1, TimeUnit.SECONDS);
+            assertTrue(event != null, "expected an event");
+            return event;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failSends) {
+                throw new IOException("Broken pipe");
+            }
+            if (firstSendEntered.getCount() > 0) {
+                firstSendEntered.countDown();
+                try {
+                    releaseFirstSend.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.mockito.Mockito;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import ru.practicum.server.exception.BookingConflictException;
 import ru.practicum.server.exception.ErrorResponse;
 import ru.practicum.server.exception.ForbiddenException;
 import ru.practicum.server.exception.GlobalExceptionHandler;
@@ -82,6 +83,16 @@ public class GlobalExceptionHandlerTest {
         assertEquals("User already exists", response.getMessage());
     }
 
+    @Test
+    void handleBookingConflictException_shouldReturnConflictResponse() {
+        BookingConflictException exception = new BookingConflictException("Item is already booked");
+
+        ErrorResponse response = globalExceptionHandler.handleBookingConflictException(exception);
+
+        assertEquals("Conflict", response.getError());
+        assertEquals("Item is already booked", response.getMessage());
+    }
+
     @Test
     void handleForbiddenException_shouldReturnForbiddenResponse() {
         ForbiddenException exception = new ForbiddenException("Access is forbidden");
@@ -0,0 +1,66 @@
+package export;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.server.exception.GlobalExceptionHandler;
+import ru.practicum.server.exception.InvalidParamException;
+import ru.practicum.server.export.ExportController;
+import ru.practicum.server.export.ExportFormat;
+import ru.practicum.server.export.ExportService;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ContextConfiguration(classes = {ExportController.class, GlobalExceptionHandler.class})
+@WebMvcTest(ExportController.class)
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ExportService exportService;
+
+    @Test
+    void shouldStreamCsvAsAttachment() throws Exception {
+        when(exportService.export("users", ExportFormat.CSV))
+                .thenReturn(out -> out.write("id,name,email\n1,Owner,owner@example.com\n"
+                        .getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = mvc.perform(get("/export/users").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\""))
+                .andExpect(content().string("id,name,email\n1,Owner,owner@example.com\n"));
+    }
+
+    @Test
+    void shouldRejectUnknownExport() throws Exception {
+        when(exportService.export(eq("comments"), any()))
+                .thenThrow(new InvalidParamException("entity", "comments"));
+
+        mvc.perform(get("/export/comments"))
+                .andExpect(status().isBadRequest());
+        mvc.perform(get("/export/users").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,121 @@
+package export;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.server.ShareItServer;
+import ru.practicum.server.booking.Status;
+import ru.practicum.server.booking.model.Booking;
+import ru.practicum.server.booking.repository.BookingRepository;
+import ru.practicum.server.exception.InvalidParamException;
+import ru.practicum.server.export.ExportFormat;
+import ru.practicum.server.export.ExportService;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(classes = ShareItServer.class)
+@Transactional
+class ExportServiceTest {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User(null, "Owner", "export.owner@example.com"));
+        booker = userRepository.save(new User(null, "Booker", "export.booker@example.com"));
+        item = itemRepository.save(Item.builder().name("Tent, large").description("Sleeps \"four\"")
+                .available(true).owner(owner).build());
+    }
+
+    @Test
+    void testExportUsersAsNdjson() throws IOException {
+        String export = export("users", ExportFormat.NDJSON);
+
+        assertThat(export).contains("{\"id\":" + owner.getId() + ",\"name\":\"Owner\","
+                + "\"email\":\"export.owner@example.com\"}\n");
+        assertThat(export).contains("{\"id\":" + booker.getId() + ",\"name\":\"Booker\",");
+        assertThat(export).endsWith("\n");
+    }
+
+    @Test
+    void testExportItemsAsCsvQuotesSpecialCharacters() throws IOException {
+        String export = export("items", ExportFormat.CSV);
+
+        assertThat(export).startsWith("id,name,description,available,ownerId,requestId\n");
+        assertThat(export).contains(item.getId() + ",\"Tent, large\",\"Sleeps \"\"four\"\"\",true," + owner.getId()
+                + ",\n");
+    }
+
+    @Test
+    void testExportBookingsAsCsv() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        Booking booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .owner(owner)
+                .status(Status.APPROVED)
+                .start(start)
+                .end(start.plusDays(1))
+                .available(false)
+                .build());
+
+        String export = export("bookings", ExportFormat.CSV);
+
+        assertThat(export).contains(booking.getId() + "," + item.getId() + "," + booker.getId() + ","
+                + owner.getId() + ",2030-01-01T10:00:00,2030-01-02T10:00:00,APPROVED\n");
+    }
+
+    @Test
+    void testExportKeepsRowsOutOfPersistenceContext() throws IOException {
+        entityManager.flush();
+        entityManager.clear();
+
+        export("users", ExportFormat.NDJSON);
+        export("items", ExportFormat.NDJSON);
+
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void testExportRejectsUnknownEntity() {
+        assertThrows(InvalidParamException.class, () -> exportService.export("comments", ExportFormat.CSV));
+        assertThrows(InvalidParamException.class, () -> ExportFormat.from("xml"));
+    }
+
+    private String export(String entity, ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(entity, format).writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,120 @@
+package item;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.InMemoryItemSearchIndex;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@Slf4j
+class InMemoryItemSearchIndexTest {
+
+    private static final String[] TOOLS = {"Drill", "Saw", "Hammer", "Ladder", "Tent", "Kayak", "Projector", "Mixer"};
+    private static final String[] ADJECTIVES = {"cordless", "heavy", "folding", "compact", "vintage", "electric"};
+
+    private InMemoryItemSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryItemSearchIndex(mock(ItemRepository.class), mock(EntityManagerFactory.class));
+    }
+
+    @Test
+    void matchingIds_shouldMatchSubstringOfNameOrDescriptionIgnoringCase() {
+        index.put(1L, "Cordless Drill", "Batteries included");
+        index.put(2L, "Ladder", "Aluminium, three sections");
+        index.put(3L, "Дрель", "Аккумуляторная дрель");
+
+        assertThat(index.matchingIds("DRILL")).containsExactly(1L);
+        assertThat(index.matchingIds("rdless dr")).containsExactly(1L);
+        assertThat(index.matchingIds("three sec")).containsExactly(2L);
+        assertThat(index.matchingIds("ДРЕЛЬ")).containsExactly(3L);
+        assertThat(index.matchingIds("a")).containsExactly(1L, 2L);
+        assertThat(index.matchingIds("drill batteries")).isEmpty();
+        assertThat(index.matchingIds("saw")).isEmpty();
+    }
+
+    @Test
+    void put_shouldReplaceTextOfExistingItem() {
+        index.put(1L, "Cordless Drill", "Batteries included");
+
+        index.put(1L, "Hammer", "Steel head");
+
+        assertThat(index.matchingIds("drill")).isEmpty();
+        assertThat(index.matchingIds("steel")).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void remove_shouldForgetItem() {
+        index.put(1L, "Cordless Drill", "Batteries included");
+        index.put(2L, "Hammer drill", "Corded");
+
+        index.remove(1L);
+
+        assertThat(index.matchingIds("drill")).containsExactly(2L);
+        assertThat(index.matchingIds("batteries")).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void matchingIds_shouldReturnIdsInAscendingOrderWhenIndexedOutOfOrder() {
+        index.put(5L, "Tent", "Two person");
+        index.put(2L, "Tent", "Four person");
+        index.put(9L, "Tent", "Family");
+
+        assertThat(index.matchingIds("tent")).containsExactly(2L, 5L, 9L);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkSearchOverMillionItems() {
+        int items = 1_000_000;
+        long started = System.nanoTime();
+        for (int id = 1; id <= items; id++) {
+            index.put(id, name(id), description(id));
+        }
+        log.info("Indexed {} items in {} ms", items, (System.nanoTime() - started) / 1_000_000);
+        long vintageTents = IntStream.rangeClosed(1, items)
+                .filter(id -> id % ADJECTIVES.length == 4 && id % TOOLS.length == 4)
+                .count();
+
+        assertThat(measure("rare term", () -> index.matchingIds("#424242"))).containsExactly(424_242L);
+        assertThat(measure("two-word phrase", () -> index.matchingIds("vintage tent"))).hasSize((int) vintageTents);
+        assertThat(measure("common word", () -> index.matchingIds("drill"))).hasSize(items / TOOLS.length);
+        assertThat(measure("short query", () -> index.matchingIds("ay"))).hasSize(items / TOOLS.length);
+        assertThat(measure("no match", () -> index.matchingIds("snowboard"))).isEmpty();
+    }
+
+    private static long[] measure(String label, Supplier<long[]> query) {
+        long[] result = query.get();
+        long[] nanos = new long[20];
+        for (int i = 0; i < nanos.length; i++) {
+            long started = System.nanoTime();
+            query.get();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        log.info("{}: {} matches, p50 {} ms, max {} ms", label, result.length,
+                String.format("%.3f", nanos[nanos.length / 2] / 1e6),
+                String.format("%.3f", nanos[nanos.length - 1] / 1e6));
+        return result;
+    }
+
+    private static String name(int id) {
+        return TOOLS[id % TOOLS.length] + " #" + id;
+    }
+
+    private static String description(int id) {
+        return ADJECTIVES[id % ADJECTIVES.length] + " " + TOOLS[id % TOOLS.length].toLowerCase() + " for rent";
+    }
+}
@@ -8,21 +8,39 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import ru.practicum.server.item.controller.ItemController;
+import ru.practicum.server.item.dto.AvailabilityDto;
+import ru.practicum.server.item.dto.AvailabilitySlotDto;
 import ru.practicum.server.item.dto.CommentDto;
 import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.dto.ItemImportResultDto;
+import ru.practicum.server.item.mapper.ItemMapper;
+import ru.practicum.server.item.model.Item;
 import ru.practicum.server.item.service.ItemService;
 import ru.practicum.server.utils.GlobalConstants;
+import ru.practicum.server.utils.KeysetCursor;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -86,6 +104,32 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.available", is(updatedItem.getAvailable())));
     }
 
+    @Test
+    void shouldFormatBookingDatesAlikeOnOwnerListAndItemPage() throws Exception {
+        LocalDateTime last = LocalDateTime.of(2026, 1, 2, 3, 4, 5, 678_000_000);
+        LocalDateTime next = last.plusDays(1);
+        Item item = Item.builder()
+                .id(1L)
+                .name("Item name")
+                .description("Item description")
+                .available(true)
+                .lastBooking(last.atZone(ZoneId.systemDefault()).toInstant())
+                .nextBooking(next.atZone(ZoneId.systemDefault()).toInstant())
+                .build();
+
+        when(itemService.get(1L)).thenReturn(ItemMapper.toItemShortDto(item));
+        when(itemService.findAll(1L)).thenReturn(List.of(ItemMapper.toOwnerItemDto(item, last, next, List.of())));
+
+        mvc.perform(get("/items/{itemId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastBooking", is("2026-01-02T03:04:05")))
+                .andExpect(jsonPath("$.nextBooking", is("2026-01-03T03:04:05")));
+        mvc.perform(get("/items").header(GlobalConstants.USERID_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastBooking", is("2026-01-02T03:04:05")))
+                .andExpect(jsonPath("$[0].nextBooking", is("2026-01-03T03:04:05")));
+    }
+
     @Test
     void shouldGetItem() throws Exception {
         ItemDto itemDto = ItemDto.builder()
@@ -154,10 +198,12 @@ class ItemControllerTest {
                 .available(true)
                 .build();
 
-        when(itemService.search(eq("search"))).thenReturn(List.of(itemDto));
+        when(itemService.search(eq("search"), eq(10), eq(5))).thenReturn(List.of(itemDto));
 
         mvc.perform(get("/items/search")
                         .param("text", "search")
+                        .param("from", "10")
+                        .param("size", "5")
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()", is(1)))
@@ -165,6 +211,79 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].name", is(itemDto.getName())));
     }
 
+    @Test
+    void shouldStreamSearchResultsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ItemDto> sink = invocation.getArgument(1);
+            sink.accept(ItemDto.builder().id(1L).name("Drill").build());
+            sink.accept(ItemDto.builder().id(2L).name("Hammer drill").build());
+            return null;
+        }).when(itemService).streamSearch(eq("drill"), any());
+
+        MvcResult result = mvc.perform(get("/items/search")
+                        .param("text", "drill")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(allOf(
+                        startsWith("{\"id\":1,\"name\":\"Drill\","),
+                        containsString("}\n{\"id\":2,\"name\":\"Hammer drill\","),
+                        endsWith("}\n"))));
+    }
+
+    @Test
+    void shouldStreamImportResultsAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<List<ItemImportResultDto>> sink = invocation.getArgument(2);
+            sink.accept(List.of(ItemImportResultDto.builder().line(1).status(201).id(5L).build(),
+                    ItemImportResultDto.builder().line(2).status(400).error("Item name cannot be blank").build()));
+            return null;
+        }).when(itemService).importItems(eq(1L), any(), any());
+
+        MvcResult result = mvc.perform(post("/items/import")
+                        .header(GlobalConstants.USERID_HEADER, 1L)
+                        .content("{\"name\":\"Tent\"}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"line\":1,\"status\":201,\"id\":5}\n"
+                        + "{\"line\":2,\"status\":400,\"error\":\"Item name cannot be blank\"}\n"));
+    }
+
+    @Test
+    void shouldGetAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(2);
+        AvailabilityDto availability = AvailabilityDto.builder()
+                .itemId(1L)
+                .from(from)
+                .to(to)
+                .granularity("PT30M")
+                .slots(List.of(new AvailabilitySlotDto(from, to, true)))
+                .build();
+
+        when(itemService.getAvailability(1L, from, to, Duration.ofMinutes(30))).thenReturn(availability);
+
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-01T12:00:00")
+                        .param("granularity", "PT30M")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slots.length()", is(1)))
+                .andExpect(jsonPath("$.slots[0].free", is(true)))
+                .andExpect(jsonPath("$.slots[0].end", is("2030-01-01T12:00:00")));
+    }
+
     @Test
     void shouldAddComment() throws Exception {
         CommentDto commentDto = CommentDto.builder()
@@ -185,9 +304,55 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.text", is(commentDto.getText())));
     }
 
+    @Test
+    void shouldPageCommentsWithNextCursor() throws Exception {
+        CommentDto commentDto = CommentDto.builder()
+                .id(7L)
+                .text("Nice item")
+                .authorName("Booker")
+                .created(Instant.parse("2024-10-22T10:10:10Z"))
+                .build();
+
+        when(itemService.getComments(eq(1L), isNull(), eq(1))).thenReturn(List.of(commentDto));
+
+        mvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(GlobalConstants.NEXT_CURSOR_HEADER,
+                        new KeysetCursor<>(commentDto.getCreated(), commentDto.getId()).encode()))
+                .andExpect(jsonPath("$[0].authorName", is("Booker")));
+    }
+
+    @Test
+    void shouldOmitNextCursorOnLastCommentPage() throws Exception {
+        when(itemService.getComments(eq(1L), eq("cursor"), eq(10))).thenReturn(List.of());
+
+        mvc.perform(get("/items/{itemId}/comments", 1L)
+                        .param("cursor", "cursor")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(GlobalConstants.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$.length()", is(0)));
+    }
+
+    @Test
+    void shouldSuggestItemNames() throws Exception {
+        when(itemService.suggest(eq("dr"), eq(5))).thenReturn(List.of("Drill", "Cordless Drill"));
+
+        mvc.perform(get("/items/suggest")
+                        .param("prefix", "dr")
+                        .param("limit", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0]", is("Drill")))
+                .andExpect(jsonPath("$[1]", is("Cordless Drill")));
+    }
+
     @Test
     void shouldReturnEmptyListForEmptySearchQuery() throws Exception {
-        when(itemService.search(anyString())).thenReturn(List.of());
+        when(itemService.search(anyString(), anyInt(), anyInt())).thenReturn(List.of());
 
         mvc.perform(get("/items/search")
                         .param("text", "")
@@ -0,0 +1,106 @@
+package item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.item.cache.ItemDetailCache;
+import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.event.ItemChangedEvent;
+import support.MutableClock;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemDetailCacheTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ItemDetailCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailCache(registry, 2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void get_shouldLoadOnceAndCountHitsAndMisses() {
+        ItemDto first = cache.get(1L, this::load);
+        ItemDto second = cache.get(1L, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+        assertThat(registry.get("cache.puts").tag("cache", ItemDetailCache.NAME).functionCounter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyReadItemBeyondMaxSize() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(1L, this::load);
+        cache.get(3L, this::load);
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertThat(loads).hasValue(4);
+        assertThat(evictions()).isEqualTo(2);
+        assertThat(registry.get("cache.size").tag("cache", ItemDetailCache.NAME).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void get_shouldReloadExpiredItem() {
+        cache.get(1L, this::load);
+        clock.advance(Duration.ofMinutes(5));
+
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+        assertThat(evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void onItemChanged_shouldDropCachedItem() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.onItemChanged(new ItemChangedEvent(1L));
+
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_shouldNotCacheItemLoadedWhileInvalidated() {
+        cache.get(1L, id -> {
+            cache.invalidate(id);
+            return load(id);
+        });
+
+        cache.get(1L, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private ItemDto load(long itemId) {
+        loads.incrementAndGet();
+        return ItemDto.builder().id(itemId).name("Item " + itemId).build();
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tags("cache", ItemDetailCache.NAME, "result", result)
+                .functionCounter().count();
+    }
+
+    private double evictions() {
+        return registry.get("cache.evictions").tag("cache", ItemDetailCache.NAME).functionCounter().count();
+    }
+}
@@ -0,0 +1,202 @@
+package item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.server.item.event.ItemChangedEvent;
+import ru.practicum.server.item.repository.ItemName;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.suggest.ItemNameSuggester;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemNameSuggesterTest {
+
+    private static final String[] TOOLS = {"Drill", "Drip tray", "Saw", "Sander", "Ladder", "Tent", "Tarp", "Kayak"};
+    private static final String[] ADJECTIVES = {"cordless", "heavy", "folding", "compact", "vintage", "electric"};
+
+    private final Map<Long, ItemName> items = new HashMap<>();
+    private ItemRepository itemRepository;
+    private ItemNameSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findNamesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(items::containsKey).map(items::get).toList();
+        });
+        suggester = new ItemNameSuggester(itemRepository);
+    }
+
+    @Test
+    void suggest_shouldMatchStartOfAnyWordIgnoringCase() {
+        put(1L, "Cordless Drill", true);
+        put(2L, "Ladder", true);
+        put(3L, "Drip tray", true);
+
+        assertThat(suggester.suggest("DR", 10)).containsExactly("Cordless Drill", "Drip tray");
+        assertThat(suggester.suggest("cordless d", 10)).containsExactly("Cordless Drill");
+        assertThat(suggester.suggest("  tray ", 10)).containsExactly("Drip tray");
+        assertThat(suggester.suggest("rill", 10)).isEmpty();
+        assertThat(suggester.suggest("drills", 10)).isEmpty();
+        assertThat(suggester.suggest(" ", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_shouldRankNamesByNumberOfAvailableItems() {
+        put(1L, "Saw", true);
+        put(2L, "Sander", true);
+        put(3L, "sander", true);
+        put(4L, "Sandbox", true);
+        put(5L, "Sandbox", true);
+        put(6L, "Sandbox", true);
+        put(7L, "Saddle", false);
+
+        assertThat(suggester.suggest("sa", 10)).containsExactly("Sandbox", "Sander", "Saw");
+        assertThat(suggester.suggest("sa", 2)).containsExactly("Sandbox", "Sander");
+    }
+
+    @Test
+    void suggest_shouldFollowRenamesAvailabilityAndDeletes() {
+        put(1L, "Drill", true);
+        put(2L, "Drill", true);
+        put(3L, "Drip tray", true);
+        assertThat(suggester.suggest("dri", 10)).containsExactly("Drill", "Drip tray");
+
+        put(3L, "Drip tray", false);
+        assertThat(suggester.suggest("dri", 10)).containsExactly("Drill");
+
+        put(1L, "Tent", true);
+        delete(2L);
+        assertThat(suggester.suggest("dri", 10)).isEmpty();
+        assertThat(suggester.suggest("t", 10)).containsExactly("Tent");
+
+        put(3L, "Drip tray", true);
+        assertThat(suggester.suggest("d", 10)).containsExactly("Drip tray");
+        assertThat(suggester.suggest("t", 10)).containsExactly("Drip tray", "Tent");
+    }
+
+    @Test
+    void suggest_shouldReloadChangedItemsInOneQuery() {
+        put(1L, "Drill", true);
+        put(2L, "Ladder", true);
+
+        assertThat(suggester.suggest("l", 10)).containsExactly("Ladder");
+        assertThat(suggester.suggest("d", 10)).containsExactly("Drill");
+
+        verify(itemRepository, times(1)).findNamesByIdIn(anyCollection());
+    }
+
+    @Test
+    void warmUp_shouldLoadAvailableNamesPageByPage() {
+        when(itemRepository.findAvailableNamesAfter(anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(name(1L, "Kayak", true), name(2L, "Tarp", true)));
+
+        suggester.warmUp();
+
+        assertThat(suggester.suggest("ka", 10)).containsExactly("Kayak");
+        assertThat(suggester.suggest("ta", 10)).containsExactly("Tarp");
+    }
+
+    @Test
+    void suggest_shouldMatchBruteForceAfterRandomChanges() {
+        Random random = new Random(42);
+        for (int step = 0; step < 2_000; step++) {
+            long id = random.nextInt(150) + 1;
+            if (random.nextInt(5) == 0) {
+                delete(id);
+            } else {
+                String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + TOOLS[random.nextInt(TOOLS.length)];
+                put(id, random.nextBoolean() ? name : TOOLS[random.nextInt(TOOLS.length)], random.nextInt(4) > 0);
+            }
+            if (step % 50 == 0) {
+                for (String prefix : List.of("d", "dr", "dri", "drip", "s", "sa", "co", "cordless d", "t", "ta", "x")) {
+                    assertThat(suggester.suggest(prefix, 10)).as("prefix '%s' at step %d", prefix, step)
+                            .containsExactlyElementsOf(bruteForce(prefix));
+                }
+            }
+        }
+    }
+
+    private List<String> bruteForce(String prefix) {
+        Map<String, Long> counts = items.values().stream()
+                .filter(ItemName::getAvailable)
+                .filter(item -> (" " + item.getName().toLowerCase(Locale.ROOT)).contains(" " + prefix))
+                .collect(Collectors.groupingBy(ItemName::getName, Collectors.counting()));
+        return counts.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<String, Long>>comparingLong(Map.Entry::getValue).reversed()
+                        .thenComparing(entry -> entry.getKey().toLowerCase(Locale.ROOT)))
+                .limit(10)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Test
+    void suggest_shouldReloadManyChangesInChunksAndRetryFailedReload() {
+        int count = 2 * ItemNameSuggester.FETCH_CHUNK + 1;
+        for (long id = 1; id <= count; id++) {
+            items.put(id, name(id, "Tent " + id, true));
+            suggester.onItemChanged(new ItemChangedEvent(id));
+        }
+        when(itemRepository.findNamesByIdIn(anyCollection()))
+                .thenThrow(new IllegalStateException("Database unavailable"))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    assertThat(ids).hasSizeLessThanOrEqualTo(ItemNameSuggester.FETCH_CHUNK);
+                    return ids.stream().map(items::get).toList();
+                });
+
+        assertThatThrownBy(() -> suggester.suggest("tent", 10)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(suggester.suggest("tent", 10)).hasSize(10);
+        verify(itemRepository, times(4)).findNamesByIdIn(anyCollection());
+        assertThat(suggester.suggest("tent " + count, 10)).containsExactly("Tent " + count);
+    }
+
+    private void put(long id, String name, boolean available) {
+        items.put(id, name(id, name, available));
+        suggester.onItemChanged(new ItemChangedEvent(id));
+    }
+
+    private void delete(long id) {
+        items.remove(id);
+        suggester.onItemChanged(new ItemChangedEvent(id));
+    }
+
+    private static ItemName name(long id, String name, boolean available) {
+        return new ItemName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Boolean getAvailable() {
+                return available;
+            }
+        };
+    }
+}
@@ -4,6 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.ShareItServer;
@@ -13,6 +15,7 @@ import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -56,7 +59,7 @@ public class ItemRepositoryTest {
 
     @Test
     void testSearchAvailableItems() {
-        List<Item> foundItems = itemRepository.search("Test");
+        List<Item> foundItems = itemRepository.search("Test", Pageable.unpaged());
 
         assertNotNull(foundItems);
         assertEquals(1, foundItems.size());
@@ -65,12 +68,39 @@ public class ItemRepositoryTest {
 
     @Test
     void testSearchUnavailableItems() {
-        List<Item> foundItems = itemRepository.search("Description 2");
+        List<Item> foundItems = itemRepository.search("Description 2", Pageable.unpaged());
 
         assertNotNull(foundItems);
         assertTrue(foundItems.isEmpty());
     }
 
+    @Test
+    void testSearchRanksNameMatchesThenFrequency() {
+        Item inDescription = itemRepository.save(item1.toBuilder().id(null).version(null)
+                .name("Cordless tool").description("Drill with spare drill bits").build());
+        Item inNameOnce = itemRepository.save(item1.toBuilder().id(null).version(null)
+                .name("Drill").description("Corded").build());
+        Item inNameTwice = itemRepository.save(item1.toBuilder().id(null).version(null)
+                .name("Hammer drill").description("Drill and chisel").build());
+
+        List<Item> ranked = itemRepository.search("drill", Pageable.unpaged());
+        List<Item> secondPage = itemRepository.search("drill", PageRequest.of(1, 2));
+
+        assertEquals(List.of(inNameTwice.getId(), inNameOnce.getId(), inDescription.getId()),
+                ranked.stream().map(Item::getId).toList());
+        assertEquals(List.of(inDescription.getId()), secondPage.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void testStreamSearchFollowsRanking() {
+        Item inName = itemRepository.save(item1.toBuilder().id(null).version(null)
+                .name("Description Item").build());
+
+        try (Stream<Item> items = itemRepository.streamSearch("description")) {
+            assertEquals(List.of(inName.getId(), item1.getId()), items.map(Item::getId).toList());
+        }
+    }
+
     @Test
     void testGetAllByUserId() {
         List<Item> items = itemRepository.getAllByUserId(owner.getId());
@@ -1,5 +1,6 @@
 package item;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,30 +8,42 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.ShareItServer;
+import ru.practicum.server.booking.index.BookingIntervalIndex;
 import ru.practicum.server.booking.model.Booking;
 import ru.practicum.server.booking.repository.BookingRepository;
 import ru.practicum.server.booking.Status;
 import ru.practicum.server.exception.InvalidParamException;
 import ru.practicum.server.exception.NotFoundException;
+import ru.practicum.server.item.dto.AvailabilityDto;
 import ru.practicum.server.item.dto.CommentDto;
 import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.dto.ItemImportResultDto;
 import ru.practicum.server.item.model.Comment;
 import ru.practicum.server.item.model.Item;
 import ru.practicum.server.item.repository.CommentRepository;
 import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.service.ItemImporter;
 import ru.practicum.server.item.service.ItemServiceImpl;
 import ru.practicum.server.request.model.ItemRequest;
 import ru.practicum.server.request.repository.ItemRequestRepository;
 import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.utils.KeysetCursor;
 
+import java.io.StringReader;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.server.utils.GlobalConstants.ITEM_NOT_FOUND;
 import static ru.practicum.server.utils.GlobalConstants.REQUEST_NOT_FOUND;
+import static support.HibernateStatements.statementsFor;
 
 @SpringBootTest(classes = ShareItServer.class)
 @Transactional
@@ -55,6 +68,12 @@ public class ItemServiceImplTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private User user;
 
     private User owner;
@@ -132,6 +151,55 @@ public class ItemServiceImplTest {
         assertThat(updatedItem.getDescription()).isEqualTo("Updated description");
     }
 
+    @Test
+    void testFindAllComputesLastAndNextBookingAndComments() {
+        User booker = userRepository.save(new User(null, "Booker", "booker.dates@example.com"));
+        Item item = itemRepository.save(Item.builder().name("Tent").description("Two person")
+                .available(true).owner(user).build());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        saveBooking(item, booker, Status.APPROVED, now.minusDays(5));
+        saveBooking(item, booker, Status.APPROVED, now.minusDays(2));
+        saveBooking(item, booker, Status.REJECTED, now.plusDays(1));
+        saveBooking(item, booker, Status.APPROVED, now.plusDays(3));
+        saveBooking(item, booker, Status.APPROVED, now.plusDays(7));
+        saveComment(item, booker, "Dry all night");
+
+        ItemDto listed = itemService.findAll(user.getId()).getFirst();
+
+        DateTimeFormatter format = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+        assertThat(listed.getLastBooking()).isEqualTo(format.format(now.minusDays(2)));
+        assertThat(listed.getNextBooking()).isEqualTo(format.format(now.plusDays(3)));
+        assertThat(listed.getComments()).extracting(CommentDto::getAuthorName).containsExactly("Booker");
+    }
+
+    @Test
+    void testFindAllUsesConstantStatementCount() {
+        User booker = userRepository.save(new User(null, "Booker", "booker.count@example.com"));
+        createOwnerItems(2, booker);
+        long fewItems = statementsFor(entityManager, () -> assertThat(itemService.findAll(user.getId())).hasSize(2));
+
+        createOwnerItems(40, booker);
+        long manyItems = statementsFor(entityManager, () -> assertThat(itemService.findAll(user.getId())).hasSize(42));
+
+        assertThat(fewItems).isEqualTo(3);
+        assertThat(manyItems).isEqualTo(fewItems);
+    }
+
+    @Test
+    void testGetServesCachedItemUntilItChanges() {
+        ItemDto created = createItem("Tent", "Two person");
+        itemService.get(created.getId());
+
+        itemRepository.findById(created.getId()).orElseThrow().setName("Renamed behind the cache");
+        itemRepository.flush();
+        ItemDto cached = itemService.get(created.getId());
+        itemService.update(user.getId(), created.getId(), ItemDto.builder().name("Family tent").build());
+        ItemDto updated = itemService.get(created.getId());
+
+        assertThat(cached.getName()).isEqualTo("Tent");
+        assertThat(updated.getName()).isEqualTo("Family tent");
+    }
+
     @Test
     void testUpdateItemWithNonExistentItemThrowsException() {
         ItemDto itemDto = new ItemDto();
@@ -212,12 +280,154 @@ public class ItemServiceImplTest {
         item.setOwner(user);
         itemRepository.save(item);
 
-        List<ItemDto> foundItems = itemService.search("Searchable Item");
+        List<ItemDto> foundItems = itemService.search("Searchable Item", 0, 10);
 
         assertThat(foundItems).hasSize(1);
         assertThat(foundItems.getFirst().getName()).isEqualTo("Searchable Item");
     }
 
+    @Test
+    void testSearchFollowsUpdatesAndDeletes() {
+        ItemDto created = itemService.create(user.getId(), ItemDto.builder()
+                .name("Camping Stove")
+                .description("Two burners")
+                .available(true)
+                .build());
+        assertThat(itemService.search("stove", 0, 10)).extracting(ItemDto::getId).containsExactly(created.getId());
+
+        itemService.update(user.getId(), created.getId(), ItemDto.builder().name("Gas Grill").build());
+        itemRepository.flush();
+        assertThat(itemService.search("stove", 0, 10)).isEmpty();
+        assertThat(itemService.search("GRILL", 0, 10)).extracting(ItemDto::getId).containsExactly(created.getId());
+
+        itemService.delete(created.getId());
+        itemRepository.flush();
+        assertThat(itemService.search("grill", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testSearchRanksAndPagesResults() {
+        ItemDto inDescription = createItem("Cordless tool", "Drill with spare drill bits");
+        ItemDto inNameOnce = createItem("Drill", "Corded");
+        ItemDto inNameTwice = createItem("Hammer drill", "Drill and chisel");
+
+        assertThat(itemService.search("drill", 0, 10)).extracting(ItemDto::getId)
+                .containsExactly(inNameTwice.getId(), inNameOnce.getId(), inDescription.getId());
+        assertThat(itemService.search("drill", 2, 2)).extracting(ItemDto::getId)
+                .containsExactly(inDescription.getId());
+        assertThrows(InvalidParamException.class, () -> itemService.search("drill", 0, 0));
+    }
+
+    @Test
+    void testSuggestFollowsCreatesUpdatesAndDeletes() {
+        ItemDto first = createItem("Quokka plush", "Soft toy");
+        ItemDto second = createItem("Quokka plush", "Another soft toy");
+        ItemDto third = createItem("Giant Quokka kite", "Flies well");
+
+        assertThat(itemService.suggest("quok", 10)).containsExactly("Quokka plush", "Giant Quokka kite");
+
+        itemService.update(user.getId(), first.getId(), ItemDto.builder().available(false).build());
+        itemService.update(user.getId(), second.getId(), ItemDto.builder().name("Wombat plush").build());
+        itemRepository.flush();
+        assertThat(itemService.suggest("quok", 10)).containsExactly("Giant Quokka kite");
+        assertThat(itemService.suggest("plu", 10)).containsExactly("Wombat plush");
+
+        itemService.delete(third.getId());
+        itemRepository.flush();
+        assertThat(itemService.suggest("quok", 10)).isEmpty();
+        assertThrows(InvalidParamException.class, () -> itemService.suggest("quok", 11));
+    }
+
+    @Test
+    void testStreamSearchHandsOverRankedItems() {
+        ItemDto inDescription = createItem("Cordless tool", "Drill");
+        ItemDto inName = createItem("Drill", "Corded");
+        List<ItemDto> streamed = new ArrayList<>();
+
+        itemService.streamSearch("drill", streamed::add);
+
+        assertThat(streamed).extracting(ItemDto::getId).containsExactly(inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    void testSearchSkipsUnavailableItems() {
+        Item item = new Item();
+        item.setName("Broken Kayak");
+        item.setDescription("Needs repair");
+        item.setAvailable(false);
+        item.setOwner(user);
+        itemRepository.save(item);
+
+        assertThat(itemService.search("kayak", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testImportItemsReportsEveryLine() {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setDescription("Need a tent");
+        itemRequest.setRequestor(user);
+        itemRequest = itemRequestRepository.save(itemRequest);
+        String input = String.join("\n",
+                "{\"name\":\"Tent\",\"description\":\"Two person\",\"available\":true}",
+                "",
+                "{\"name\":\"Kayak\",\"description\":\"Sea kayak\",\"available\":true,\"requestId\":"
+                        + itemRequest.getId() + "}",
+                "{\"name\":\"Broken\"",
+                "{\"name\":\" \",\"description\":\"No name\",\"available\":true}",
+                "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true,\"owner\":999999}",
+                "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true,\"requestId\":999999}",
+                "{\"name\":\"" + "x".repeat(ItemImporter.MAX_LINE_LENGTH) + "\"}") + "\n";
+
+        List<ItemImportResultDto> results = new ArrayList<>();
+        itemService.importItems(user.getId(), new StringReader(input), results::addAll);
+
+        assertThat(results).extracting(ItemImportResultDto::getLine).containsExactly(1, 3, 4, 5, 6, 7, 8);
+        assertThat(results).extracting(ItemImportResultDto::getStatus)
+                .containsExactly(201, 201, 400, 400, 403, 404, 400);
+        Item kayak = itemRepository.findById(results.get(1).getId()).orElseThrow();
+        assertThat(kayak.getOwner().getId()).isEqualTo(user.getId());
+        assertThat(kayak.getRequest().getId()).isEqualTo(itemRequest.getId());
+        assertThat(results.get(3).getError()).isEqualTo("Item name cannot be blank");
+    }
+
+    @Test
+    void testImportItemsAreOwnedByImportingUser() {
+        User other = userRepository.save(User.builder().name("Other").email("other.importer@example.com").build());
+        String input = String.join("\n",
+                "{\"name\":\"Tent\",\"description\":\"Two person\",\"available\":true,\"owner\":" + user.getId() + "}",
+                "{\"name\":\"Kayak\",\"description\":\"Sea kayak\",\"available\":true,\"owner\":"
+                        + other.getId() + "}");
+
+        List<ItemImportResultDto> results = new ArrayList<>();
+        itemService.importItems(user.getId(), new StringReader(input), results::addAll);
+        List<ItemImportResultDto> unknownUser = new ArrayList<>();
+        itemService.importItems(999_999L, new StringReader(
+                "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true}"), unknownUser::addAll);
+
+        assertThat(results).extracting(ItemImportResultDto::getStatus).containsExactly(201, 403);
+        assertThat(itemRepository.findById(results.getFirst().getId()).orElseThrow().getOwner().getId())
+                .isEqualTo(user.getId());
+        assertThat(itemRepository.getAllByUserId(other.getId())).isEmpty();
+        assertThat(unknownUser).extracting(ItemImportResultDto::getStatus).containsExactly(404);
+    }
+
+    @Test
+    void testImportItemsStoresLinesInBatches() {
+        int lines = ItemImporter.BATCH_SIZE + 20;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            input.append("{\"name\":\"Item ").append(i).append("\",\"description\":\"Imported\",\"available\":true}\n");
+        }
+
+        List<Integer> batchSizes = new ArrayList<>();
+        long statements = statementsFor(entityManager, () -> itemService.importItems(user.getId(),
+                new StringReader(input.toString()), batch -> batchSizes.add(batch.size())));
+
+        assertThat(batchSizes).containsExactly(ItemImporter.BATCH_SIZE, 20);
+        assertThat(itemRepository.getAllByUserId(user.getId())).hasSize(lines);
+        assertThat(statements).isLessThan(lines / 10);
+    }
+
     @Test
     void testAddComment() {
         owner = new User();
@@ -287,7 +497,6 @@ public class ItemServiceImplTest {
         assertThat(addedComment.getAuthorName()).isEqualTo(user.getName());
     }
 
-
     @Test
     void testAddCommentByUserWhoDidNotBookItemThrowsException() {
         Item item = new Item();
@@ -325,16 +534,77 @@ public class ItemServiceImplTest {
         comment.setCreated(Instant.now());
         commentRepository.save(comment);
 
-        List<CommentDto> comments = itemService.getComments(item.getId());
+        List<CommentDto> comments = itemService.getComments(item.getId(), null, 10);
 
         assertThat(comments).hasSize(1);
         assertThat(comments.getFirst().getText()).isEqualTo("Nice item!");
     }
 
     @Test
-    void testGetCommentsForNonExistentItem() {
-        List<CommentDto> comments = itemService.getComments(999L);
-        assertThat(comments).isEmpty();
+    void testGetCommentsPagesThroughHistoryNewestFirst() {
+        ItemDto created = createItem("Tent", "Two person");
+        Item item = itemRepository.findById(created.getId()).orElseThrow();
+        for (int i = 0; i < 5; i++) {
+            saveComment(item, user, "Comment " + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CommentDto> first = itemService.getComments(item.getId(), null, 2);
+        String cursor = KeysetCursor.next(first, 2, CommentDto::getCreated, CommentDto::getId).orElseThrow();
+        List<CommentDto> second = itemService.getComments(item.getId(), cursor, 2);
+        cursor = KeysetCursor.next(second, 2, CommentDto::getCreated, CommentDto::getId).orElseThrow();
+        List<CommentDto> last = itemService.getComments(item.getId(), cursor, 2);
+
+        assertThat(first).extracting(CommentDto::getText).containsExactly("Comment 4", "Comment 3");
+        assertThat(second).extracting(CommentDto::getText).containsExactly("Comment 2", "Comment 1");
+        assertThat(last).extracting(CommentDto::getText).containsExactly("Comment 0");
+        assertThat(KeysetCursor.next(last, 2, CommentDto::getCreated, CommentDto::getId)).isEmpty();
+        assertThat(last.getFirst().getAuthorName()).isEqualTo(user.getName());
+    }
+
+    @Test
+    void testGetCommentsRejectsUnknownItemAndBadCursor() {
+        ItemDto created = createItem("Tent", "Two person");
+
+        assertThrows(NotFoundException.class, () -> itemService.getComments(999L, null, 10));
+        assertThrows(InvalidParamException.class, () -> itemService.getComments(created.getId(), "not-a-cursor", 10));
+        assertThrows(InvalidParamException.class, () -> itemService.getComments(created.getId(), null, 0));
+    }
+
+    @Test
+    void testGetInlinesLatestCommentsWithAuthorsInTwoStatements() {
+        ItemDto created = createItem("Tent", "Two person");
+        Item item = itemRepository.findById(created.getId()).orElseThrow();
+        User author = userRepository.save(new User(null, "Reviewer", "reviewer.inline@example.com"));
+        for (int i = 0; i < ItemServiceImpl.INLINE_COMMENTS + 5; i++) {
+            saveComment(item, i % 2 == 0 ? user : author, "Comment " + i);
+        }
+
+        List<ItemDto> fetched = new ArrayList<>();
+        long statements = statementsFor(entityManager, () -> fetched.add(itemService.get(item.getId())));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(fetched.getFirst().getComments()).hasSize(ItemServiceImpl.INLINE_COMMENTS);
+        assertThat(fetched.getFirst().getComments().getFirst().getText())
+                .isEqualTo("Comment " + (ItemServiceImpl.INLINE_COMMENTS + 4));
+        assertThat(fetched.getFirst().getComments()).extracting(CommentDto::getAuthorName)
+                .containsOnly(user.getName(), "Reviewer");
+    }
+
+    @Test
+    void testSearchLoadsInlineCommentsWithConstantStatementCount() {
+        createCommentedItems(2);
+        itemService.search("kayak", 0, 10);
+        long fewItems = statementsFor(entityManager, () -> assertThat(itemService.search("kayak", 0, 10)).hasSize(2)
+                .allSatisfy(item -> assertThat(item.getComments()).hasSize(ItemServiceImpl.INLINE_COMMENTS)));
+
+        createCommentedItems(6);
+        itemService.search("kayak", 0, 10);
+        long manyItems = statementsFor(entityManager, () -> assertThat(itemService.search("kayak", 0, 10)).hasSize(8)
+                .allSatisfy(item -> assertThat(item.getComments()).hasSize(ItemServiceImpl.INLINE_COMMENTS)));
+
+        assertThat(manyItems).isEqualTo(fewItems);
     }
 
     @Test
@@ -373,4 +643,94 @@ public class ItemServiceImplTest {
         NotFoundException exception = assertThrows(NotFoundException.class, () -> itemService.create(user.getId(), itemDto));
         assertThat(exception.getMessage()).isEqualTo(REQUEST_NOT_FOUND);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAvailabilityMergesSlotsAroundHeldPeriods() {
+        Item item = itemRepository.save(Item.builder()
+                .name("Calendar item")
+                .description("Item with bookings")
+                .available(true)
+                .owner(user)
+                .build());
+        LocalDateTime from = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        bookingIntervalIndex.tryReserve(item.getId(), from.plusMinutes(90), from.plusHours(3));
+        bookingIntervalIndex.tryReserve(item.getId(), from.plusHours(3), from.plusHours(5));
+
+        AvailabilityDto availability = itemService.getAvailability(item.getId(), from, from.plusHours(8),
+                Duration.ofHours(1));
+
+        assertThat(availability.getSlots()).hasSize(3);
+        assertThat(availability.getSlots().get(0).isFree()).isTrue();
+        assertThat(availability.getSlots().get(0).getEnd()).isEqualTo(from.plusHours(1));
+        assertThat(availability.getSlots().get(1).isFree()).isFalse();
+        assertThat(availability.getSlots().get(1).getStart()).isEqualTo(from.plusHours(1));
+        assertThat(availability.getSlots().get(1).getEnd()).isEqualTo(from.plusHours(5));
+        assertThat(availability.getSlots().get(2).isFree()).isTrue();
+        assertThat(availability.getSlots().get(2).getEnd()).isEqualTo(from.plusHours(8));
+    }
+
+    @Test
+    void testGetAvailabilityRejectsInvalidRange() {
+        LocalDateTime from = LocalDateTime.now();
+
+        assertThrows(InvalidParamException.class,
+                () -> itemService.getAvailability(1L, from, from.minusHours(1), Duration.ofHours(1)));
+        assertThrows(InvalidParamException.class,
+                () -> itemService.getAvailability(1L, from, from.plusYears(5), Duration.ofMinutes(1)));
+        assertThrows(InvalidParamException.class,
+                () -> itemService.getAvailability(1L, from.minusDays(2), from.minusDays(1), Duration.ofHours(1)));
+        NotFoundException exception = assertThrows(NotFoundException.class,
+                () -> itemService.getAvailability(Long.MAX_VALUE, from, from.plusDays(1), Duration.ofHours(1)));
+        assertThat(exception.getMessage()).isEqualTo(ITEM_NOT_FOUND + Long.MAX_VALUE);
+    }
+
+    private ItemDto createItem(String name, String description) {
+        return itemService.create(user.getId(), ItemDto.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .build());
+    }
+
+    private void createOwnerItems(int count, User booker) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder().name("Item " + i).description("Listed")
+                    .available(true).owner(user).build());
+            saveBooking(item, booker, Status.APPROVED, now.minusDays(1));
+            saveBooking(item, booker, Status.APPROVED, now.plusDays(1));
+            saveComment(item, booker, "Comment " + i);
+        }
+    }
+
+    private void createCommentedItems(int count) {
+        for (int i = 0; i < count; i++) {
+            Item item = itemRepository.save(Item.builder().name("Kayak " + i).description("Sea kayak")
+                    .available(true).owner(user).build());
+            for (int c = 0; c < ItemServiceImpl.INLINE_COMMENTS + 2; c++) {
+                saveComment(item, user, "Comment " + c);
+            }
+        }
+    }
+
+    private void saveBooking(Item item, User booker, Status status, LocalDateTime start) {
+        bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .owner(item.getOwner())
+                .status(status)
+                .start(start)
+                .end(start.plusHours(12))
+                .available(false)
+                .build());
+    }
+
+    private void saveComment(Item item, User author, String text) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setAuthor(author);
+        comment.setItem(item);
+        comment.setCreated(Instant.now());
+        commentRepository.save(comment);
+    }
+}
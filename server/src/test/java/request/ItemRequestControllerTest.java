@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.server.item.dto.ItemDto;
 import ru.practicum.server.request.controller.ItemRequestController;
 import ru.practicum.server.request.dto.ItemRequestDto;
 import ru.practicum.server.request.service.ItemRequestService;
@@ -17,6 +18,7 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -69,7 +71,7 @@ public class ItemRequestControllerTest {
 
         List<ItemRequestDto> itemRequestsDtos = List.of(itemRequestDto1, itemRequestDto2);
 
-        when(itemRequestService.getAllByUser(anyLong()))
+        when(itemRequestService.getAllByUser(anyLong(), anyInt(), anyInt()))
                 .thenReturn(itemRequestsDtos);
 
         mvc.perform(get("/requests")
@@ -102,7 +104,7 @@ public class ItemRequestControllerTest {
     @Test
     void shouldReturnEmptyListWhenUserHasNoRequests() throws Exception {
 
-        when(itemRequestService.getAllByUser(anyLong())).thenReturn(List.of());
+        when(itemRequestService.getAllByUser(anyLong(), anyInt(), anyInt())).thenReturn(List.of());
 
         mvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", 1L)
@@ -124,7 +126,7 @@ public class ItemRequestControllerTest {
 
         List<ItemRequestDto> itemRequestsDtos = List.of(itemRequestDto1, itemRequestDto2);
 
-        when(itemRequestService.getAll(anyLong())).thenReturn(itemRequestsDtos);
+        when(itemRequestService.getAll(anyLong(), anyInt(), anyInt())).thenReturn(itemRequestsDtos);
 
         mvc.perform(get("/requests/all")
                         .header("X-Sharer-User-Id", 1L)
@@ -135,4 +137,17 @@ public class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].description", is(itemRequestsDtos.get(0).getDescription())))
                 .andExpect(jsonPath("$[1].description", is(itemRequestsDtos.get(1).getDescription())));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReturnSuggestedItems() throws Exception {
+        ItemDto itemDto = ItemDto.builder().id(7L).name("Tent").available(true).build();
+        when(itemRequestService.getSuggestions(1L)).thenReturn(List.of(itemDto));
+
+        mvc.perform(get("/requests/{requestId}/suggestions", 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].id", is(7)))
+                .andExpect(jsonPath("$[0].name", is("Tent")));
+    }
+}
@@ -1,5 +1,6 @@
 package request;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,17 +10,31 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import ru.practicum.server.ShareItServer;
 import ru.practicum.server.exception.DataNotFoundException;
+import ru.practicum.server.exception.InvalidParamException;
+import ru.practicum.server.item.dto.CommentDto;
+import ru.practicum.server.item.dto.ItemDto;
+import ru.practicum.server.item.model.Comment;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.CommentRepository;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.service.ItemServiceImpl;
 import ru.practicum.server.request.dto.ItemRequestDto;
 import ru.practicum.server.request.model.ItemRequest;
+import ru.practicum.server.request.model.RequestSuggestion;
 import ru.practicum.server.request.repository.ItemRequestRepository;
+import ru.practicum.server.request.repository.RequestSuggestionRepository;
 import ru.practicum.server.request.service.ItemRequestServiceImpl;
 import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.repository.UserRepository;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static support.HibernateStatements.statementsFor;
 
 @SpringBootTest(classes = ShareItServer.class)
 @Transactional
@@ -30,6 +45,10 @@ public class ItemRequestServiceImplTest {
     private final ItemRequestServiceImpl itemRequestService;
     private final UserRepository userRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final CommentRepository commentRepository;
+    private final RequestSuggestionRepository requestSuggestionRepository;
+    private final EntityManager entityManager;
 
     private User user;
 
@@ -63,7 +82,7 @@ public class ItemRequestServiceImplTest {
         itemRequest.setRequestor(user);
         itemRequestRepository.save(itemRequest);
 
-        List<ItemRequestDto> requests = itemRequestService.getAllByUser(user.getId());
+        List<ItemRequestDto> requests = itemRequestService.getAllByUser(user.getId(), 0, 10);
 
         assertThat(requests).isNotNull();
         assertThat(requests.getFirst().getDescription()).isEqualTo("Request by user");
@@ -81,12 +100,99 @@ public class ItemRequestServiceImplTest {
         itemRequest.setRequestor(anotherUser);
         itemRequestRepository.save(itemRequest);
 
-        List<ItemRequestDto> requests = itemRequestService.getAll(user.getId());
+        List<ItemRequestDto> requests = itemRequestService.getAll(user.getId(), 0, 10);
 
         assertThat(requests).isNotNull();
         assertThat(requests.getFirst().getDescription()).isEqualTo("Request from another user");
     }
 
+    @Test
+    void testGetAllPagesOtherUsersRequestsWithAnsweringItems() {
+        User anotherUser = userRepository.save(User.builder().name("Another").email("another@example.com").build());
+        itemRequestRepository.save(request("Own request", user, 0));
+        List<ItemRequest> others = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            ItemRequest itemRequest = itemRequestRepository.save(request("Request " + i, anotherUser, i));
+            others.add(itemRequest);
+            answer(itemRequest, "Answer " + i);
+            answer(itemRequest, "Second answer " + i);
+        }
+
+        List<ItemRequestDto> firstPage = itemRequestService.getAll(user.getId(), 0, 2);
+        List<ItemRequestDto> lastPage = itemRequestService.getAll(user.getId(), 4, 2);
+        List<ItemRequestDto> misalignedPage = itemRequestService.getAll(user.getId(), 1, 2);
+
+        assertThat(firstPage).extracting(ItemRequestDto::getDescription).containsExactly("Request 5", "Request 4");
+        assertThat(lastPage).extracting(ItemRequestDto::getDescription).containsExactly("Request 1");
+        assertThat(misalignedPage).extracting(ItemRequestDto::getDescription)
+                .containsExactly("Request 4", "Request 3");
+        assertThat(firstPage.getFirst().getItems()).extracting(ItemDto::getName)
+                .containsExactly("Answer 5", "Second answer 5");
+        assertThat(firstPage.getFirst().getItems()).allSatisfy(item ->
+                assertThat(item.getRequestId()).isEqualTo(others.getLast().getId()));
+        assertThatThrownBy(() -> itemRequestService.getAll(user.getId(), 0, 0))
+                .isInstanceOf(InvalidParamException.class);
+    }
+
+    @Test
+    void testGetAllQueriesDoNotGrowWithPageSize() {
+        User anotherUser = userRepository.save(User.builder().name("Another").email("another@example.com").build());
+        for (int i = 1; i <= 6; i++) {
+            ItemRequest itemRequest = itemRequestRepository.save(request("Request " + i, anotherUser, i));
+            answer(itemRequest, "Answer " + i);
+        }
+        itemRequestService.getAll(user.getId(), 0, 1);
+        itemRequestService.getAllByUser(anotherUser.getId(), 0, 1);
+
+        long onePage = statementsFor(entityManager,
+                () -> assertThat(itemRequestService.getAll(user.getId(), 0, 1)).hasSize(1));
+        long sixPage = statementsFor(entityManager,
+                () -> assertThat(itemRequestService.getAll(user.getId(), 0, 6)).hasSize(6));
+        long ownPage = statementsFor(entityManager,
+                () -> assertThat(itemRequestService.getAllByUser(anotherUser.getId(), 0, 6)).hasSize(6));
+
+        assertThat(sixPage).isEqualTo(onePage);
+        assertThat(ownPage).isEqualTo(onePage);
+    }
+
+    @Test
+    void testGetAllInlinesOnlyLatestCommentsOfAnsweringItems() {
+        User anotherUser = userRepository.save(User.builder().name("Another").email("another@example.com").build());
+        Item item = answer(itemRequestRepository.save(request("Commented request", anotherUser, 0)), "Answer");
+        for (int i = 0; i < ItemServiceImpl.INLINE_COMMENTS + 5; i++) {
+            Comment comment = new Comment();
+            comment.setText("Comment " + i);
+            comment.setAuthor(anotherUser);
+            comment.setItem(item);
+            comment.setCreated(Instant.now());
+            commentRepository.save(comment);
+        }
+
+        List<ItemRequestDto> requests = itemRequestService.getAll(user.getId(), 0, 10);
+
+        assertThat(requests.getFirst().getItems().getFirst().getComments())
+                .hasSize(ItemServiceImpl.INLINE_COMMENTS)
+                .first().extracting(CommentDto::getText).isEqualTo("Comment " + (ItemServiceImpl.INLINE_COMMENTS + 4));
+    }
+
+    @Test
+    void testGetSuggestionsReturnsAvailableItemsByScore() {
+        ItemRequest itemRequest = itemRequestRepository.save(request("Need a tent", user, 0));
+        Item tent = answer(null, "Tent");
+        Item bigTent = answer(null, "Big tent");
+        Item brokenTent = answer(null, "Broken tent");
+        brokenTent.setAvailable(false);
+        requestSuggestionRepository.saveAll(List.of(
+                RequestSuggestion.builder().request(itemRequest).item(tent).score(1).build(),
+                RequestSuggestion.builder().request(itemRequest).item(bigTent).score(2).build(),
+                RequestSuggestion.builder().request(itemRequest).item(brokenTent).score(3).build()));
+
+        assertThat(itemRequestService.getSuggestions(itemRequest.getId())).extracting(ItemDto::getName)
+                .containsExactly("Big tent", "Tent");
+        assertThatThrownBy(() -> itemRequestService.getSuggestions(999L))
+                .isInstanceOf(DataNotFoundException.class);
+    }
+
     @Test
     void testGetById() {
         ItemRequest itemRequest = new ItemRequest();
@@ -107,4 +213,22 @@ public class ItemRequestServiceImplTest {
                 .isInstanceOf(DataNotFoundException.class)
                 .hasMessageContaining("Request not found");
     }
-}
\ No newline at end of file
+
+    private ItemRequest request(String description, User requestor, int minutes) {
+        ItemRequest itemRequest = new ItemRequest();
+        itemRequest.setDescription(description);
+        itemRequest.setRequestor(requestor);
+        itemRequest.setCreated(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(minutes));
+        return itemRequest;
+    }
+
+    private Item answer(ItemRequest itemRequest, String name) {
+        Item item = new Item();
+        item.setName(name);
+        item.setDescription(itemRequest != null ? "Answers " + itemRequest.getDescription() : name);
+        item.setAvailable(true);
+        item.setOwner(user);
+        item.setRequest(itemRequest);
+        return itemRepository.save(item);
+    }
+}
@@ -0,0 +1,124 @@
+package request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.ItemSearchIndex;
+import ru.practicum.server.request.event.ItemRequestCreatedEvent;
+import ru.practicum.server.request.matching.RequestMatcher;
+import ru.practicum.server.request.model.ItemRequest;
+import ru.practicum.server.request.model.RequestSuggestion;
+import ru.practicum.server.request.repository.ItemRequestRepository;
+import ru.practicum.server.request.repository.RequestSuggestionRepository;
+import ru.practicum.server.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestMatcherTest {
+
+    private static final long REQUESTOR_ID = 1L;
+    private static final long OWNER_ID = 2L;
+
+    private ItemSearchIndex itemSearchIndex;
+    private RequestSuggestionRepository requestSuggestionRepository;
+    private RequestMatcher matcher;
+
+    @BeforeEach
+    void setUp() {
+        itemSearchIndex = mock(ItemSearchIndex.class);
+        when(itemSearchIndex.search(anyString(), any(Pageable.class))).thenReturn(List.of());
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        when(itemRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> item(invocation.getArgument(0), OWNER_ID));
+        ItemRequestRepository itemRequestRepository = mock(ItemRequestRepository.class);
+        when(itemRequestRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> ItemRequest.builder().id(invocation.getArgument(0)).build());
+        requestSuggestionRepository = mock(RequestSuggestionRepository.class);
+        matcher = new RequestMatcher(itemSearchIndex, itemRepository, itemRequestRepository,
+                requestSuggestionRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)), 1, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        matcher.shutdown();
+    }
+
+    @Test
+    void match_shouldScoreItemsByMatchedWordsAndSkipRequestorsOwnItems() {
+        when(itemSearchIndex.search(eq("camping"), any(Pageable.class)))
+                .thenReturn(List.of(item(10L, OWNER_ID), item(11L, OWNER_ID), item(12L, REQUESTOR_ID)));
+        when(itemSearchIndex.search(eq("tent"), any(Pageable.class)))
+                .thenReturn(List.of(item(11L, OWNER_ID), item(13L, OWNER_ID)));
+
+        int stored = matcher.match(new ItemRequestCreatedEvent(5L, REQUESTOR_ID, "A camping tent, for 2 (tent!)"));
+
+        assertThat(stored).isEqualTo(3);
+        ArgumentCaptor<List<RequestSuggestion>> saved = captor();
+        verify(requestSuggestionRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(suggestion -> suggestion.getItem().getId())
+                .containsExactly(11L, 10L, 13L);
+        assertThat(saved.getValue()).extracting(RequestSuggestion::getScore).containsExactly(2, 1, 1);
+        assertThat(saved.getValue()).allSatisfy(suggestion -> assertThat(suggestion.getRequest().getId()).isEqualTo(5L));
+        verify(itemSearchIndex, never()).search(eq("2"), any(Pageable.class));
+    }
+
+    @Test
+    void match_shouldStoreNothingWithoutCandidates() {
+        assertThat(matcher.match(new ItemRequestCreatedEvent(5L, REQUESTOR_ID, "Something unusual"))).isZero();
+        assertThat(matcher.match(new ItemRequestCreatedEvent(5L, REQUESTOR_ID, "a b"))).isZero();
+
+        verify(requestSuggestionRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void onRequestCreated_shouldMatchInBackground() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stored = new CountDownLatch(1);
+        when(itemSearchIndex.search(eq("kayak"), any(Pageable.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(item(20L, OWNER_ID));
+        });
+        when(requestSuggestionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            stored.countDown();
+            return invocation.getArgument(0);
+        });
+
+        matcher.onRequestCreated(new ItemRequestCreatedEvent(6L, REQUESTOR_ID, "Kayak"));
+
+        assertThat(stored.getCount()).isEqualTo(1);
+        release.countDown();
+        assertThat(stored.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<RequestSuggestion>> captor() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+
+    private static Item item(long id, long ownerId) {
+        Item item = new Item();
+        item.setId(id);
+        item.setOwner(User.builder().id(ownerId).build());
+        item.setAvailable(true);
+        return item;
+    }
+}
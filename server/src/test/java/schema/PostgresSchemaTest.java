@@ -0,0 +1,97 @@
+package schema;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.server.ShareItServer;
+import ru.practicum.server.item.model.Item;
+import ru.practicum.server.item.repository.ItemRepository;
+import ru.practicum.server.item.search.DatabaseItemSearchIndex;
+import ru.practicum.server.item.search.ItemSearchIndex;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = ShareItServer.class, properties = {
+        "spring.datasource.driverClassName=org.postgresql.Driver",
+        "spring.sql.init.platform=postgresql",
+        "shareit.search.engine=database"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public class PostgresSchemaTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+
+    @Test
+    void testBookingsKeepItemPeriodExclusionConstraint() {
+        Integer constraints = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conname = 'ex_bookings_item_period' AND contype = 'x'",
+                Integer.class);
+
+        assertThat(constraints).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    void testDatabaseSearchIsServedByTrigramIndexes() {
+        User owner = userRepository.save(new User(null, "Owner", "trigram.owner@example.com"));
+        Item drill = itemRepository.save(Item.builder()
+                .name("Cordless drill")
+                .description("Drill with two batteries")
+                .available(true)
+                .owner(owner)
+                .build());
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT id FROM items "
+                + "WHERE upper(name) LIKE upper('%rdless dr%') OR upper(description) LIKE upper('%rdless dr%')",
+                String.class));
+
+        assertThat(itemSearchIndex).isInstanceOf(DatabaseItemSearchIndex.class);
+        assertThat(itemSearchIndex.search("rdless dr", PageRequest.of(0, 10))).extracting(Item::getId)
+                .containsExactly(drill.getId());
+        assertThat(plan).contains("ix_items_name_trgm", "ix_items_description_trgm");
+    }
+
+    @Test
+    @Transactional
+    void testUserPrefixSearchIsServedByPatternIndexes() {
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+        String emailPlan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM users WHERE email LIKE 'ali%'", String.class));
+        String namePlan = String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN SELECT id FROM users WHERE upper(name) LIKE 'ALI%'", String.class));
+
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'users'", String.class);
+
+        assertThat(indexes).contains("ix_users_email_prefix", "ix_users_name_prefix");
+        assertThat(emailPlan).doesNotContain("Seq Scan");
+        assertThat(namePlan).contains("ix_users_name_prefix");
+    }
+}
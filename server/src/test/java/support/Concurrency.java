@@ -0,0 +1,58 @@
+package support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class Concurrency {
+
+    private Concurrency() {
+    }
+
+    /**
+     * Runs every task on its own thread, releasing them together once all threads are waiting, and returns the
+     * outcomes in task order. A task that throws a {@link RuntimeException} yields a failed outcome instead.
+     */
+    public static <T> List<Outcome<T>> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger ready = new AtomicInteger();
+        try {
+            List<Future<Outcome<T>>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    ready.incrementAndGet();
+                    go.await();
+                    try {
+                        return new Outcome<>(task.call(), null);
+                    } catch (RuntimeException e) {
+                        return new Outcome<>(null, e);
+                    }
+                }));
+            }
+            while (ready.get() < tasks.size()) {
+                Thread.onSpinWait();
+            }
+            go.countDown();
+            List<Outcome<T>> outcomes = new ArrayList<>();
+            for (Future<Outcome<T>> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public record Outcome<T>(T value, RuntimeException error) {
+
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+}
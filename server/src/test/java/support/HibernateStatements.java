@@ -0,0 +1,26 @@
+package support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+public final class HibernateStatements {
+
+    private HibernateStatements() {
+    }
+
+    /**
+     * Counts the statements Hibernate prepares for the action. Pending changes are flushed and the persistence context
+     * cleared first, so entities saved by the test are read from the database again, and changes made by the action
+     * are flushed before counting.
+     */
+    public static long statementsFor(EntityManager entityManager, Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        entityManager.flush();
+        return statistics.getPrepareStatementCount() - before;
+    }
+}
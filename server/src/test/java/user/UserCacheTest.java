@@ -0,0 +1,119 @@
+package user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.server.user.cache.UserCache;
+import ru.practicum.server.user.event.UserChangedEvent;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+import support.MutableClock;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+
+    private UserRepository userRepository;
+    private UserCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userRepository.findById(1L)).thenAnswer(invocation -> Optional.of(user(1L)));
+        when(userRepository.findById(2L)).thenAnswer(invocation -> Optional.of(user(2L)));
+        when(userRepository.findById(3L)).thenAnswer(invocation -> Optional.of(user(3L)));
+        cache = new UserCache(userRepository, registry, 2, Duration.ofMinutes(10), Duration.ofSeconds(30), clock);
+    }
+
+    @Test
+    void find_shouldLoadOnceAndReturnDetachedCopies() {
+        User first = cache.find(1L).orElseThrow();
+        first.setName("Changed by caller");
+        User second = cache.find(1L).orElseThrow();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(1L);
+        assertThat(second.getName()).isEqualTo("User 1");
+        assertThat(second.getEmail()).isEqualTo("user1@example.com");
+        verify(userRepository, times(1)).findById(1L);
+        assertThat(gets("hit")).isEqualTo(1);
+        assertThat(gets("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void find_shouldCacheUnknownIdForShorterTime() {
+        assertThat(cache.exists(42L)).isFalse();
+        assertThat(cache.exists(42L)).isFalse();
+        verify(userRepository, times(1)).findById(42L);
+
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.exists(42L)).isFalse();
+        assertThat(cache.exists(1L)).isTrue();
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(cache.exists(1L)).isTrue();
+
+        verify(userRepository, times(2)).findById(42L);
+        verify(userRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void onUserChanged_shouldDropCachedAnswer() {
+        assertThat(cache.exists(42L)).isFalse();
+        when(userRepository.findById(42L)).thenAnswer(invocation -> Optional.of(user(42L)));
+
+        cache.onUserChanged(new UserChangedEvent(UserChangedEvent.Type.CREATED, 42L));
+
+        assertThat(cache.exists(42L)).isTrue();
+        verify(userRepository, times(2)).findById(42L);
+    }
+
+    @Test
+    void find_shouldEvictLeastRecentlyReadUserBeyondMaxSize() {
+        cache.find(1L);
+        cache.find(2L);
+        cache.find(1L);
+        cache.find(3L);
+
+        cache.find(1L);
+        cache.find(2L);
+
+        verify(userRepository, times(1)).findById(1L);
+        verify(userRepository, times(2)).findById(2L);
+        assertThat(registry.get("cache.size").tag("cache", UserCache.NAME).gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void find_shouldNotCacheUserLoadedWhileInvalidated() {
+        when(userRepository.findById(1L)).thenAnswer(invocation -> {
+            cache.invalidate(1L);
+            return Optional.of(user(1L));
+        });
+
+        cache.find(1L);
+        cache.find(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private static User user(long id) {
+        return User.builder().id(id).name("User " + id).email("user" + id + "@example.com").build();
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tags("cache", UserCache.NAME, "result", result)
+                .functionCounter().count();
+    }
+}
@@ -98,7 +98,7 @@ class UserControllerTest {
                         .build()
         );
 
-        when(userService.findAll())
+        when(userService.findAll(0, 10, null, null))
                 .thenReturn(userDtos);
 
         mvc.perform(get("/users")
@@ -111,6 +111,22 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[1].name", is(userDtos.get(1).getName())));
     }
 
+    @Test
+    void shouldPassPagingAndFiltersToService() throws Exception {
+        when(userService.findAll(20, 5, "al", "Bo"))
+                .thenReturn(List.of(UserDto.builder().id(3L).name("Bob").email("alb@gmail.com").build()));
+
+        mvc.perform(get("/users")
+                        .param("from", "20")
+                        .param("size", "5")
+                        .param("email", "al")
+                        .param("name", "Bo")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].name", is("Bob")));
+    }
+
     @Test
     void shouldUpdateUser() throws Exception {
         UserDto updatedUserDto = UserDto.builder()
@@ -145,7 +161,7 @@ class UserControllerTest {
 
     @Test
     void shouldReturnEmptyListWhenNoUsersExist() throws Exception {
-        when(userService.findAll()).thenReturn(List.of());
+        when(userService.findAll(0, 10, null, null)).thenReturn(List.of());
 
         mvc.perform(get("/users")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -4,12 +4,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.ShareItServer;
 import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.repository.UserRepository;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @ActiveProfiles("test")
@@ -29,14 +32,14 @@ public class UserRepositoryTest {
     }
 
     @Test
-    void testUserExistsByEmail() {
-        boolean exists = userRepository.existsByEmail("testuser@gmail.com");
-        assertTrue(exists, "User should exist for the specified email");
+    void testUserFoundByEmail() {
+        List<User> found = userRepository.findAllByEmailStartingWith("testuser@gmail.com", PageRequest.of(0, 10));
+        assertEquals(1, found.size(), "User should exist for the specified email");
     }
 
     @Test
-    void testUserNotExistsByEmail() {
-        boolean exists = userRepository.existsByEmail("nonexistent@gmail.com");
-        assertFalse(exists, "User should not exist for the specified email");
+    void testUserNotFoundByEmail() {
+        List<User> found = userRepository.findAllByEmailStartingWith("nonexistent@gmail.com", PageRequest.of(0, 10));
+        assertTrue(found.isEmpty(), "User should not exist for the specified email");
     }
 }
@@ -1,15 +1,20 @@
 package user;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.server.ShareItServer;
+import ru.practicum.server.exception.InvalidParamException;
 import ru.practicum.server.exception.NotFoundException;
 import ru.practicum.server.exception.UserAlreadyExists;
+import ru.practicum.server.user.cache.UserCache;
 import ru.practicum.server.user.dto.UserDto;
 import ru.practicum.server.user.model.User;
 import ru.practicum.server.user.repository.UserRepository;
@@ -19,10 +24,12 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static support.HibernateStatements.statementsFor;
 
 @SpringBootTest(classes = ShareItServer.class)
 @Transactional
 @Rollback
+@Slf4j
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 public class UserServiceImplTest {
 
@@ -30,6 +37,10 @@ public class UserServiceImplTest {
 
     private final UserRepository userRepository;
 
+    private final UserCache userCache;
+
+    private final EntityManager entityManager;
+
     private User user;
 
     @BeforeEach
@@ -89,6 +100,22 @@ public class UserServiceImplTest {
                 .hasMessageContaining("Email is already in use.");
     }
 
+    @Test
+    void testCreateWithExistingEmail() {
+        UserDto userDto = UserDto.builder().name("Copycat").email(user.getEmail()).build();
+
+        assertThatThrownBy(() -> userService.create(userDto))
+                .isInstanceOf(UserAlreadyExists.class)
+                .hasMessageContaining("Email is already in use.");
+    }
+
+    @Test
+    void testUpdateWithOwnEmailKeepsUser() {
+        UserDto updateDto = UserDto.builder().email(user.getEmail()).build();
+
+        assertThat(userService.update(user.getId(), updateDto).getEmail()).isEqualTo(user.getEmail());
+    }
+
     @Test
     void testUpdateNonExistingUser() {
         UserDto updateDto = new UserDto();
@@ -148,7 +175,7 @@ public class UserServiceImplTest {
         anotherUser.setEmail("another.user@example.com");
         userRepository.save(anotherUser);
 
-        List<UserDto> users = userService.findAll();
+        List<UserDto> users = userService.findAll(0, 10, null, null);
 
         assertThat(users).hasSize(2);
         assertThat(users).extracting(UserDto::getName)
@@ -158,8 +185,99 @@ public class UserServiceImplTest {
     @Test
     void testFindAllNoUsers() {
         userRepository.deleteAll();
-        List<UserDto> users = userService.findAll();
+        List<UserDto> users = userService.findAll(0, 10, null, null);
 
         assertThat(users).isEmpty();
     }
+
+    @Test
+    void testFindAllPagesAndFiltersByPrefix() {
+        for (String name : List.of("Alice", "alan", "Bob", "Albert")) {
+            userRepository.save(User.builder().name(name).email(name.toLowerCase() + "@shareit.test").build());
+        }
+        userRepository.save(User.builder().name("Percent").email("50%off@shareit.test").build());
+
+        assertThat(userService.findAll(0, 2, null, null)).extracting(UserDto::getName)
+                .containsExactly("Initial User", "Alice");
+        assertThat(userService.findAll(4, 2, null, null)).extracting(UserDto::getName)
+                .containsExactly("Albert", "Percent");
+        assertThat(userService.findAll(3, 2, null, null)).extracting(UserDto::getName)
+                .containsExactly("Bob", "Albert");
+        assertThat(userService.findAll(0, 10, null, "al")).extracting(UserDto::getName)
+                .containsExactly("Alice", "alan", "Albert");
+        assertThat(userService.findAll(0, 10, "al", "  ")).extracting(UserDto::getName)
+                .containsExactly("Alice", "alan", "Albert");
+        assertThat(userService.findAll(0, 10, "ala", "AL")).extracting(UserDto::getName)
+                .containsExactly("alan");
+        assertThat(userService.findAll(0, 10, "50%", null)).extracting(UserDto::getName)
+                .containsExactly("Percent");
+        assertThat(userService.findAll(0, 10, "5%", null)).isEmpty();
+        assertThatThrownBy(() -> userService.findAll(-1, 10, null, null))
+                .isInstanceOf(InvalidParamException.class);
+        assertThatThrownBy(() -> userService.findAll(0, 0, null, null))
+                .isInstanceOf(InvalidParamException.class);
+    }
+
+    @Test
+    void testGetIsServedFromCacheUntilUpdated() {
+        userService.get(user.getId());
+        long cached = statementsFor(entityManager, () -> assertThat(userService.get(user.getId()).getName())
+                .isEqualTo("Initial User"));
+
+        userService.update(user.getId(), UserDto.builder().name("Renamed").build());
+
+        assertThat(cached).isZero();
+        assertThat(userService.get(user.getId()).getName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void testUnknownUserIsRememberedUntilCreated() {
+        long unknownId = user.getId() + 1;
+        assertThatThrownBy(() -> userService.get(unknownId)).isInstanceOf(NotFoundException.class);
+        long remembered = statementsFor(entityManager, () -> assertThat(userCache.exists(unknownId)).isFalse());
+
+        UserDto created = userService.create(UserDto.builder().name("Next").email("next@example.com").build());
+
+        assertThat(remembered).isZero();
+        assertThat(created.getId()).isEqualTo(unknownId);
+        assertThat(userService.get(unknownId).getName()).isEqualTo("Next");
+    }
+
+    @Test
+    void testDeletedUserIsNotServedFromCache() {
+        userService.get(user.getId());
+
+        userService.delete(user.getId());
+
+        assertThatThrownBy(() -> userService.get(user.getId())).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkUserLookup() {
+        int lookups = 20_000;
+        userCache.find(user.getId());
+        for (int i = 0; i < 1_000; i++) {
+            userRepository.findById(user.getId());
+            entityManager.clear();
+        }
+
+        long started = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            userRepository.findById(user.getId());
+            entityManager.clear();
+        }
+        long databaseNanos = System.nanoTime() - started;
+
+        started = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            userCache.find(user.getId());
+        }
+        long cacheNanos = System.nanoTime() - started;
+
+        log.info("User lookup: repository {} us, cache {} us per call",
+                String.format("%.2f", databaseNanos / 1e3 / lookups),
+                String.format("%.2f", cacheNanos / 1e3 / lookups));
+        assertThat(cacheNanos).isLessThan(databaseNanos);
+    }
 }
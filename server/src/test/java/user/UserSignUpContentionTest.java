@@ -0,0 +1,58 @@
+package user;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.server.ShareItServer;
+import ru.practicum.server.exception.UserAlreadyExists;
+import ru.practicum.server.user.dto.UserDto;
+import ru.practicum.server.user.model.User;
+import ru.practicum.server.user.repository.UserRepository;
+import ru.practicum.server.user.service.UserServiceImpl;
+import support.Concurrency.Outcome;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static support.Concurrency.runConcurrently;
+
+@SpringBootTest(classes = ShareItServer.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class UserSignUpContentionTest {
+
+    private static final int THREADS = 16;
+    private static final String EMAIL = "contention-signup@gmail.com";
+
+    private final UserServiceImpl userService;
+    private final UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findAll().stream()
+                .filter(user -> EMAIL.equals(user.getEmail()))
+                .map(User::getId)
+                .forEach(userService::delete);
+    }
+
+    @Test
+    void testConcurrentSignUpsWithSameEmailHaveSingleWinner() throws Exception {
+        List<Callable<UserDto>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UserDto userDto = UserDto.builder().name("Signup " + i).email(EMAIL).build();
+            tasks.add(() -> userService.create(userDto));
+        }
+        List<Outcome<UserDto>> outcomes = runConcurrently(tasks);
+
+        assertThat(outcomes.stream().filter(Outcome::succeeded).count()).isEqualTo(1);
+        assertThat(outcomes.stream().filter(o -> !o.succeeded()))
+                .allMatch(o -> o.error() instanceof UserAlreadyExists);
+        UserDto winner = outcomes.stream().filter(Outcome::succeeded).findFirst().orElseThrow().value();
+        assertThat(userRepository.findAll()).filteredOn(user -> EMAIL.equals(user.getEmail()))
+                .extracting(User::getId)
+                .containsExactly(winner.getId());
+    }
+}